@@ -2,6 +2,7 @@ package com.capstone.goat.config;
 
 import com.capstone.goat.exception.CustomAsyncExceptionHandler;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurerSupport;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -15,8 +16,9 @@ public class AsyncConfig extends AsyncConfigurerSupport {
     @Override
     public Executor getAsyncExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(10);
+        int processors = Runtime.getRuntime().availableProcessors();
+        executor.setCorePoolSize(Math.max(2, processors));
+        executor.setMaxPoolSize(Math.max(10, processors * 2));
         executor.setQueueCapacity(500);
         executor.setThreadNamePrefix("Executor-");
         executor.initialize();
@@ -25,6 +27,47 @@ public class AsyncConfig extends AsyncConfigurerSupport {
         return executor;
     }
 
+    // SSE 전송 전용 스레드 풀, 느린 클라이언트가 알림을 보내는 스레드를 붙잡지 않도록 분리
+    @Bean
+    public ThreadPoolTaskExecutor sseWriterExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("SseWriter-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    // 매치메이킹 파티션 평가 전용 스레드 풀, 대기열이 그룹 선점으로 동시 매칭을 지원하므로 코어 수만큼 스레드 사용
+    // 큐가 가득 차면 MatchMakingEngine이 거부된 파티션을 다음 주기로 넘김
+    @Bean
+    public ThreadPoolTaskExecutor matchMakingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        int processors = Runtime.getRuntime().availableProcessors();
+        executor.setCorePoolSize(Math.max(2, processors));
+        executor.setMaxPoolSize(Math.max(2, processors));
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("MatchMaking-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // DB를 사용하는 STOMP 메시지 처리 전용 스레드 풀, inbound 채널 스레드가 DB 작업에 묶이지 않도록 분리
+    @Bean
+    public ThreadPoolTaskExecutor stompHandlerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("StompHandler-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new CustomAsyncExceptionHandler();
@@ -1,6 +1,7 @@
 package com.capstone.goat.config;
 
 
+import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,14 +24,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = tokenProvider.resolveToken(request);
-        log.info("토큰 값 추출 token:{}",token);
 
-        log.info("토큰 값 유효성 체크 시작");
-        if (token != null && tokenProvider.validateToken(token)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
+        log.debug("토큰 값 유효성 체크 시작");
+        Claims claims = token != null ? tokenProvider.getValidClaims(token) : null;
+        if (claims != null) {
+            Authentication authentication = tokenProvider.getAuthentication(claims);
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
-        log.info("토큰 값 유효성 체크 완료");
+        log.debug("토큰 값 유효성 체크 완료");
         filterChain.doFilter(request, response);
     }
 
@@ -0,0 +1,24 @@
+package com.capstone.goat.config;
+
+import com.capstone.goat.domain.Sport;
+import com.capstone.goat.service.MatchMakingTolerancePolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// 매칭 허용 범위 스케줄 튜닝용 actuator 엔드포인트, management.endpoints.web.exposure.include에 matchmakingtolerance를 추가하면 조회 가능
+@Component
+@Endpoint(id = "matchmakingtolerance")
+@RequiredArgsConstructor
+public class MatchMakingToleranceEndpoint {
+
+    private final MatchMakingTolerancePolicy matchMakingTolerancePolicy;
+
+    @ReadOperation
+    public Map<Sport, Map<String, Object>> schedule() {
+        return matchMakingTolerancePolicy.describe();
+    }
+}
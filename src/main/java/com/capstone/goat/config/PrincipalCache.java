@@ -0,0 +1,39 @@
+package com.capstone.goat.config;
+
+import com.capstone.goat.repository.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.function.Supplier;
+
+/**
+ * 인증된 사용자 정보를 사용자 아이디로 캐시하여 요청마다 DB에서 User를 조회하지 않도록 함
+ * <p>
+ * 최대 크기와 TTL이 있으며, 유저 정보가 변경되거나 삭제되면 invalidate로 즉시 제거해야 한다.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private TtlCache<Long, UserDetails> cache;
+
+    @PostConstruct
+    protected void init() {
+        cache = new TtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public UserDetails get(Long userId, Supplier<UserDetails> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.capstone.goat.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+// STOMP 채널의 대기열 길이와 메시지 처리 시간을 기록, outbound 채널의 처리 시간은 클라이언트 세션에 쓰는 시간
+public class StompChannelMetrics implements ExecutorChannelInterceptor {
+
+    private final Timer handleTimer;
+    private final ThreadLocal<Long> handleStartTime = new ThreadLocal<>();
+
+    public StompChannelMetrics(MeterRegistry meterRegistry, String channel, ThreadPoolTaskExecutor executor) {
+        this.handleTimer = Timer.builder("websocket.channel.handle")
+                .tag("channel", channel)
+                .register(meterRegistry);
+
+        Gauge.builder("websocket.channel.queue.depth", executor, StompChannelMetrics::getQueueDepth)
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        handleStartTime.set(System.nanoTime());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Long startTime = handleStartTime.get();
+        if (startTime != null) {
+            handleTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            handleStartTime.remove();
+        }
+    }
+
+    private static double getQueueDepth(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException exception) {
+            return 0;   // 아직 초기화되지 않은 executor
+        }
+    }
+}
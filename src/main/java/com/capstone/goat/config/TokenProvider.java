@@ -36,6 +36,8 @@ public class TokenProvider {
     private String refreshSecret;
     private Key secretKey;
     private Key refreshKey;
+    private JwtParser secretParser;     // 키마다 한 번만 생성하여 재사용
+    private JwtParser refreshParser;
     private final long tokenValidMillisecond = 1000L * 60 * 15 ;//15분
     private final long refreshValidMillisecond = 1000L * 60 *60 *24;//24시간
 
@@ -44,6 +46,8 @@ public class TokenProvider {
        log.info("키 생성 암호화 전 키 :{}",secret);
         secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         refreshKey =  Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
+        secretParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        refreshParser = Jwts.parserBuilder().setSigningKey(refreshKey).build();
         log.info("키 생성 암호화 후 키 :{}",secretKey);
     }
 
@@ -81,17 +85,21 @@ public class TokenProvider {
 
 
     public Authentication getAuthentication(String token){
-        log.info("토큰 인증 정보 조회 시작");
-        UserDetails userDetails = userDetailsService.loadUserByUsername(this.getUsername(token));
-        log.info("토큰 인증 정보 조회 완료 user:{}",userDetails.getUsername());
-        log.info("토큰 인증 정보 조회 완료 user:{}",userDetails.getAuthorities());
+        return getAuthentication(parseClaims(secretParser, token));
+    }
+
+    // 이미 검증된 토큰의 claims로 인증 정보 생성
+    public Authentication getAuthentication(Claims claims){
+        log.debug("토큰 인증 정보 조회 시작");
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        log.debug("토큰 인증 정보 조회 완료 user:{}",userDetails.getUsername());
         return new UsernamePasswordAuthenticationToken(userDetails,"",userDetails.getAuthorities());
     }
 
     public String getUsername(String token){
         log.info("토큰으로 회원 정보 추출");
         try {
-            String info = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody().getSubject();
+            String info = parseClaims(secretParser, token).getSubject();
             log.info("토큰으로 회원 정보 추출 완료 info:{}",info);
             return info;
         } catch (MalformedJwtException ex){
@@ -106,7 +114,7 @@ public class TokenProvider {
     public String getUsernameByRefresh(String token){
         log.info("토큰으로 회원 정보 추출");
         try {
-            String info = Jwts.parserBuilder().setSigningKey(refreshKey).build().parseClaimsJws(token).getBody().getSubject();
+            String info = parseClaims(refreshParser, token).getSubject();
             log.info("토큰으로 회원 정보 추출 완료 info:{}",info);
             return info;
         } catch (MalformedJwtException ex){
@@ -123,26 +131,35 @@ public class TokenProvider {
     }
 
     public boolean validateToken(String token){
-        log.info("토큰 유효성 검증 시작");
+        return getValidClaims(token) != null;
+    }
+
+    // 토큰을 한 번만 파싱하여 검증하고 claims를 반환, 유효하지 않으면 null
+    public Claims getValidClaims(String token){
+        log.debug("토큰 유효성 검증 시작");
         try{
-            Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            return !claims.getBody().getExpiration().before(new Date());
+            Claims claims = parseClaims(secretParser, token);
+            return claims.getExpiration().before(new Date()) ? null : claims;
         }catch (Exception e){
             log.info("토큰 유효 체크 예외 발생");
-            return false;
+            return null;
         }
     }
 
     public boolean validateRefreshToken(String token){
         log.info("토큰 유효성 검증 시작");
         try{
-            Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(refreshKey).build().parseClaimsJws(token);
-            return !claims.getBody().getExpiration().before(new Date());
+            Claims claims = parseClaims(refreshParser, token);
+            return !claims.getExpiration().before(new Date());
         }catch (Exception e){
             log.info("토큰 유효 체크 예외 발생");
             return false;
         }
     }
 
+    private Claims parseClaims(JwtParser parser, String token){
+        return parser.parseClaimsJws(token).getBody();
+    }
+
 
 }
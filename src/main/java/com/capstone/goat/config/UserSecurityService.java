@@ -20,11 +20,14 @@ import java.util.List;
 public class UserSecurityService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("유저 아이디:{}",Long.valueOf(username));
-        return userRepository.findById(Long.valueOf(username)).orElseThrow(()-> new UsernameNotFoundException("존재하지 않는 유저입니다."));
-
+        Long id = Long.valueOf(username);
+        log.debug("유저 아이디:{}",id);
+        return principalCache.get(id, () ->
+                userRepository.findById(id).orElseThrow(()-> new UsernameNotFoundException("존재하지 않는 유저입니다."))
+        );
     }
 }
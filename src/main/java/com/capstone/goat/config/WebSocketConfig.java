@@ -1,9 +1,13 @@
 package com.capstone.goat.config;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.*;
 
@@ -11,10 +15,96 @@ import org.springframework.web.socket.config.annotation.*;
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    public static final String BROKER_MODE_SIMPLE = "simple";
+    public static final String BROKER_MODE_RELAY = "relay";
+
+    // simple: 서버 메모리 브로커, 단일 서버용 / relay: 외부 STOMP 브로커(ActiveMQ 등)를 통해 여러 서버의 /room 구독자에게 전달
+    @Value("${websocket.broker.mode:" + BROKER_MODE_SIMPLE + "}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay-host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.client-login:guest}")
+    private String clientLogin;
+
+    @Value("${websocket.broker.client-passcode:guest}")
+    private String clientPasscode;
+
+    @Value("${websocket.broker.system-login:guest}")
+    private String systemLogin;
+
+    @Value("${websocket.broker.system-passcode:guest}")
+    private String systemPasscode;
+
+    // 클라이언트 메시지를 처리하는 inbound, 클라이언트 세션에 메시지를 쓰는 outbound 채널의 스레드 풀
+    @Value("${websocket.inbound.pool-size:0}")
+    private int inboundPoolSize;    // 0이면 코어 수 * 2
+
+    @Value("${websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.outbound.pool-size:0}")
+    private int outboundPoolSize;   // 0이면 코어 수 * 2
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    // 세션별 전송 대기 버퍼 크기와 한 번의 전송 시간 제한, 넘으면 느린 클라이언트로 보고 연결 종료
+    @Value("${websocket.send-buffer-size-limit-kb:512}")
+    private int sendBufferSizeLimitKb;
+
+    @Value("${websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.message-size-limit-kb:64}")
+    private int messageSizeLimitKb;
+
+    private final MeterRegistry meterRegistry;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/send");
-        registry.enableSimpleBroker("/room");
+        registry.setPreservePublishOrder(true);    // outbound 스레드 풀을 써도 세션별 전송 순서 유지
+
+        switch (brokerMode) {
+            case BROKER_MODE_SIMPLE -> registry.enableSimpleBroker("/room");
+            // 브로커 연결은 webflux에 포함된 reactor-netty를 사용
+            case BROKER_MODE_RELAY -> registry.enableStompBrokerRelay("/room")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(clientLogin)
+                    .setClientPasscode(clientPasscode)
+                    .setSystemLogin(systemLogin)
+                    .setSystemPasscode(systemPasscode);
+            default -> throw new IllegalStateException("지원하지 않는 websocket.broker.mode : " + brokerMode);
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        ThreadPoolTaskExecutor executor = channelExecutor("StompInbound-", inboundPoolSize, inboundQueueCapacity);
+        registration.taskExecutor(executor);
+        registration.interceptors(new StompChannelMetrics(meterRegistry, "inbound", executor));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        ThreadPoolTaskExecutor executor = channelExecutor("StompOutbound-", outboundPoolSize, outboundQueueCapacity);
+        registration.taskExecutor(executor);
+        registration.interceptors(new StompChannelMetrics(meterRegistry, "outbound", executor));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registry) {
+        // 한 세션의 전송이 밀려도 outbound 스레드는 버퍼에 넣고 돌아가며, 제한을 넘은 세션만 종료된다
+        registry.setSendBufferSizeLimit(sendBufferSizeLimitKb * 1024)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setMessageSizeLimit(messageSizeLimitKb * 1024);
     }
 
     @Override
@@ -22,4 +112,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/chat")
                 .setAllowedOriginPatterns("*");
     }
+
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
 }
@@ -4,12 +4,14 @@ import com.capstone.goat.domain.Chat;
 import com.capstone.goat.dto.request.ChatDto;
 import com.capstone.goat.dto.response.ChatResponseDto;
 import com.capstone.goat.dto.response.ResponseDto;
+import com.capstone.goat.dto.response.SliceResponseDto;
 import com.capstone.goat.dto.response.VoteTotalResponseDto;
 import com.capstone.goat.dto.response.VotedCourtResponseDto;
 import com.capstone.goat.repository.ChatRepository;
 import com.capstone.goat.service.ChatService;
-import com.capstone.goat.service.GameService;
+import com.capstone.goat.service.CourtVoteTally;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -26,6 +28,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 @Controller
 @RequiredArgsConstructor
@@ -34,7 +38,8 @@ import java.util.List;
 public class ChatController {
     private final SimpMessagingTemplate template;
     private final ChatService chatService;
-    private final GameService gameService;
+    private final CourtVoteTally courtVoteTally;
+    private final Executor stompHandlerExecutor;
 
 
     @MessageMapping("/enter/{gameId}")
@@ -53,25 +58,34 @@ public class ChatController {
     @MessageMapping("/vote/{gameId}")
     public void vote(@DestinationVariable Long gameId, ChatDto chatDto){
         log.info("투표 경기장 : {}",chatDto.getComment());
-        if(gameService.voteCourt(gameId,chatDto.getComment(),chatDto.getUserNickname())) {
-            VoteTotalResponseDto dto = gameService.getVoteMessage(gameId);
-            template.convertAndSend("/room/" + gameId, dto);
-        }
-        else{
-            log.info("이미 투표한 인원 : {}",chatDto.getUserNickname());
-            template.convertAndSend("/room/" + gameId, "이미 투표를 했습니다.");
-        }
-
+        // 첫 투표의 집계 로드와 경기장 확정은 DB를 사용하므로 inbound 채널 스레드에서 분리
+        stompHandlerExecutor.execute(() -> {
+            try {
+                Optional<VoteTotalResponseDto> dto = courtVoteTally.vote(gameId, chatDto.getComment(), chatDto.getUserNickname());
+                if (dto.isPresent()) {
+                    template.convertAndSend("/room/" + gameId, dto.get());
+                }
+                else {
+                    log.info("이미 투표한 인원 : {}", chatDto.getUserNickname());
+                    template.convertAndSend("/room/" + gameId, "이미 투표를 했습니다.");
+                }
+            } catch (RuntimeException exception) {
+                log.error("[로그] 경기장 투표 처리 실패, gameId = {}", gameId, exception);
+            }
+        });
     }
 
     @ResponseBody
     @GetMapping("/api/chats/{gameId}")
-    @Operation(summary = "채팅 기록 가져오기", description = "url 변수에 gameId를 보내주세요")
+    @Operation(summary = "채팅 기록 가져오기", description = "url 변수에 gameId를 보내주세요. 최신 채팅부터 id 내림차순으로 size개를 반환하며, 이전 채팅은 응답의 nextCursor를 before로 보내 조회합니다. 채팅 id와 nextCursor는 2^53을 넘으므로 문자열 그대로 보내주세요.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200",description = "채팅 기록 가져오기 성공",content = @Content(schema = @Schema(implementation = ChatResponseDto.class))),
+            @ApiResponse(responseCode = "200",description = "채팅 기록 가져오기 성공",content = @Content(schema = @Schema(implementation = SliceResponseDto.class))),
     })
-    public ResponseEntity<ResponseDto<List<ChatResponseDto>>> getChatList(@PathVariable Long gameId){
-        return new ResponseEntity<>(new ResponseDto<>(chatService.getChatList(gameId),"채팅 기록 가져오기 성공"), HttpStatus.OK);
+    public ResponseEntity<ResponseDto<SliceResponseDto<ChatResponseDto>>> getChatList(@PathVariable Long gameId,
+                                                                                      @Parameter(description = "이전 응답의 nextCursor 문자열", schema = @Schema(type = "string")) @RequestParam(required = false) Long before,
+                                                                                      @RequestParam(defaultValue = "30") int size){
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return new ResponseEntity<>(new ResponseDto<>(chatService.getChatList(gameId, before, pageSize),"채팅 기록 가져오기 성공"), HttpStatus.OK);
     }
 
     @ResponseBody
@@ -82,7 +96,7 @@ public class ChatController {
             @ApiResponse(responseCode = "404", description = "[GAME_NOT_FOUND] 존재하지 않는 게임입니다.", content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
     public ResponseEntity<ResponseDto<Long>> closeVote(@PathVariable Long gameId){
-        gameService.determineCourt(gameId);
+        courtVoteTally.close(gameId);
         return new ResponseEntity<>(new ResponseDto<>(gameId,"경기장 투표 종료하기 성공"),HttpStatus.OK);
     }
 
@@ -4,6 +4,7 @@ import com.capstone.goat.domain.User;
 import com.capstone.goat.dto.request.GameCourtDto;
 import com.capstone.goat.dto.request.GameFinishDto;
 import com.capstone.goat.dto.response.*;
+import com.capstone.goat.service.CourtVoteTally;
 import com.capstone.goat.service.GameService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -29,6 +30,7 @@ import java.util.List;
 public class GameController {
 
     private final GameService gameService;
+    private final CourtVoteTally courtVoteTally;
 
     @Operation(summary = "진행 중인 게임 조회", description = "사용자가 현재 진행 중인 게임을 조회합니다.")
     @ApiResponses({
@@ -47,18 +49,21 @@ public class GameController {
         return new ResponseEntity<>(new ResponseDto<>(gamePlayingResponseDto,"성공"), HttpStatus.OK);
     }
 
-    @Operation(summary = "게임 전적 목록 조회", description = "사용자의 전적 목록을 조회합니다.")
+    @Operation(summary = "게임 전적 목록 조회", description = "사용자의 전적 목록을 최신순으로 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달하여 조회합니다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(array = @ArraySchema(schema = @Schema(implementation = GameFinishedResponseDto.class)))),
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = SliceResponseDto.class))),
     })
     @GetMapping("/finished")
-    public ResponseEntity<?> gameFinishedList(@Schema(hidden = true) @AuthenticationPrincipal User user){
+    public ResponseEntity<?> gameFinishedList(@Schema(hidden = true) @AuthenticationPrincipal User user,
+                                              @RequestParam(required = false) Integer cursor,
+                                              @RequestParam(defaultValue = "20") int size){
 
         log.info("게임전적조회 조회 id : {}",user.getId());
 
-        List<GameFinishedResponseDto> gameFinishedResponseDtoList = gameService.getFinishedGameList(user.getId());
+        int pageSize = Math.max(1, Math.min(size, 100));
+        SliceResponseDto<GameFinishedResponseDto> gameFinishedResponseDtoSlice = gameService.getFinishedGameList(user.getId(), cursor, pageSize);
 
-        return new ResponseEntity<>(new ResponseDto<>(gameFinishedResponseDtoList,"성공"), HttpStatus.OK);
+        return new ResponseEntity<>(new ResponseDto<>(gameFinishedResponseDtoSlice,"성공"), HttpStatus.OK);
     }
 
 
@@ -118,7 +123,7 @@ public class GameController {
     })
     @GetMapping("/vote/{gameId}")
     public ResponseEntity<ResponseDto<VoteTotalResponseDto>> getVoteNow(@PathVariable Long gameId){
-        return new ResponseEntity<>(new ResponseDto<>(gameService.getVoteMessage(gameId),"경기장 투표 내역 조회"),HttpStatus.OK);
+        return new ResponseEntity<>(new ResponseDto<>(courtVoteTally.getVoteMessage(gameId),"경기장 투표 내역 조회"),HttpStatus.OK);
     }
 
 
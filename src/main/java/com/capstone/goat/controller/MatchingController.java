@@ -1,13 +1,13 @@
 package com.capstone.goat.controller;
 
-import com.capstone.goat.domain.NotificationType;
 import com.capstone.goat.domain.User;
 import com.capstone.goat.dto.request.MatchingConditionDto;
 import com.capstone.goat.dto.response.MatchingResponseDto;
 import com.capstone.goat.dto.response.ResponseDto;
 import com.capstone.goat.exception.ex.CustomErrorCode;
 import com.capstone.goat.exception.ex.CustomException;
-import com.capstone.goat.repository.NotificationRepository;
+import com.capstone.goat.service.GroupInviteIndex;
+import com.capstone.goat.service.MatchMakingEngine;
 import com.capstone.goat.service.MatchMakingService;
 import com.capstone.goat.service.MatchingService;
 import com.capstone.goat.service.RatingService;
@@ -24,8 +24,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
-import java.time.Duration;
-import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/matching")
@@ -35,9 +33,10 @@ import java.time.LocalDateTime;
 public class MatchingController {
 
     private final MatchMakingService matchMakingService;
+    private final MatchMakingEngine matchMakingEngine;
     private final MatchingService matchingService;
     private final RatingService ratingService;
-    private final NotificationRepository notificationRepository;;
+    private final GroupInviteIndex groupInviteIndex;
 
     @Operation(summary = "매칭 시작", description = "url 바디에 {sport,latitude,longitude,matchStartTimes,preferCourt, isClubMatching}을 json형식으로 보내주세요.")
     @ApiResponses({
@@ -57,8 +56,7 @@ public class MatchingController {
         log.info("매칭 시작 id : {}", userId);
 
         // 그룹원을 초대 중일 때에는 매칭 시작 불가능
-        if (notificationRepository.findSendTimeBySenderIdAndType(userId, NotificationType.GROUP_INVITE).stream()
-                .anyMatch(sendTime -> Duration.between(sendTime, LocalDateTime.now()).getSeconds() <= 30)) {
+        if (groupInviteIndex.isInviting(userId)) {
             throw new CustomException(CustomErrorCode.GROUP_INVITING_ON_GOING);
         }
 
@@ -67,7 +65,7 @@ public class MatchingController {
         log.info("[로그] rating : {}", rating);
         long groupId = matchMakingService.addMatchingAndMatchMaking(matchingConditionDto, userId, rating);
         log.info("[로그] groupId : {}", groupId);
-        matchMakingService.findMatching(matchingConditionDto, groupId, rating, 0);
+        matchMakingEngine.onEnqueued(groupId);
 
         return new ResponseEntity<>(new ResponseDto(groupId, "매칭 시작 성공"), HttpStatus.CREATED);
     }
@@ -101,7 +99,8 @@ public class MatchingController {
 
         log.info("매칭 중단 id : {}",user.getId());
 
-        matchMakingService.deleteMatching(user.getId());
+        long groupId = matchMakingService.deleteMatching(user.getId());
+        matchMakingEngine.onCancelled(groupId);
 
         return new ResponseEntity<>(new ResponseDto(user.getId(),"매칭 중단 성공"), HttpStatus.OK);
     }
@@ -3,9 +3,9 @@ package com.capstone.goat.controller;
 import com.capstone.goat.domain.User;
 import com.capstone.goat.dto.response.NotificationResponseDto;
 import com.capstone.goat.dto.response.ResponseDto;
+import com.capstone.goat.dto.response.SliceResponseDto;
 import com.capstone.goat.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -20,8 +20,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
-
 @Slf4j
 @RestController
 @RequestMapping("/api/notification")
@@ -31,18 +29,33 @@ public class NotificationController {
 
     private final NotificationService notificationService;
 
-    @Operation(summary = "알림 조회", description = "사용자에게 온 알림을 조회합니다.")
+    @Operation(summary = "알림 조회", description = "사용자에게 온 알림을 최신순으로 size개 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 보내 조회합니다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(array = @ArraySchema(schema = @Schema(implementation = NotificationResponseDto.class)))),
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = SliceResponseDto.class))),
     })
     @GetMapping
-    public ResponseEntity<?> notificationList(@Schema(hidden = true) @AuthenticationPrincipal User user){
+    public ResponseEntity<?> notificationList(@Schema(hidden = true) @AuthenticationPrincipal User user,
+                                              @RequestParam(required = false) Long cursor,
+                                              @RequestParam(defaultValue = "20") int size){
 
         log.info("알림 조회 id : {}",user.getId());
 
-        List<NotificationResponseDto> notificationResponseDtoList = notificationService.getNotificationList(user.getId());
+        int pageSize = Math.max(1, Math.min(size, 100));
+        SliceResponseDto<NotificationResponseDto> notificationResponseDtoSlice = notificationService.getNotificationList(user.getId(), cursor, pageSize);
+
+        return new ResponseEntity<>(new ResponseDto<>(notificationResponseDtoSlice,"성공"), HttpStatus.OK);
+    }
+
+    @Operation(summary = "알림 수 조회", description = "사용자에게 온 알림 수를 조회합니다. 유효 시간이 지난 그룹 초대는 제외합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = Long.class))),
+    })
+    @GetMapping("/count")
+    public ResponseEntity<?> notificationCount(@Schema(hidden = true) @AuthenticationPrincipal User user){
+
+        long count = notificationService.getNotificationCount(user.getId());
 
-        return new ResponseEntity<>(new ResponseDto(notificationResponseDtoList,"성공"), HttpStatus.OK);
+        return new ResponseEntity<>(new ResponseDto<>(count,"성공"), HttpStatus.OK);
     }
 
     @Operation(summary = "알림 삭제", description = "사용자에게 온 알림을 삭제합니다.")
@@ -71,8 +84,9 @@ public class NotificationController {
             })),
     })
     @GetMapping(value = "/connect", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter connect(@Schema(hidden = true) @AuthenticationPrincipal User user) {
-        return notificationService.connect(user.getId());
+    public SseEmitter connect(@Schema(hidden = true) @AuthenticationPrincipal User user,
+                              @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationService.connect(user.getId(), lastEventId);
     }
 
     @Operation(summary = "SSE 알림 해제", description = "SSE 알림 연결을 해제합니다.")
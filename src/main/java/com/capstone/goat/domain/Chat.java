@@ -12,11 +12,11 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Table(indexes = @Index(name = "idx_chat_game_id", columnList = "gameId, id"))  // 채팅방별 keyset 페이징
 public class Chat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long Id;
+    private Long Id;    // ChatIdGenerator로 애플리케이션에서 생성
 
     @Column(columnDefinition = "text")
     private String comment;
@@ -29,7 +29,8 @@ public class Chat {
     private String userNickname;
 
     @Builder
-    public Chat(String comment, LocalDateTime time, Long gameId, String userNickname) {
+    public Chat(Long id, String comment, LocalDateTime time, Long gameId, String userNickname) {
+        this.Id = id;
         this.comment = comment;
         this.time = time;
         this.gameId = gameId;
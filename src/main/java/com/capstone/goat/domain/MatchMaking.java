@@ -44,4 +44,11 @@ public class MatchMaking {
         this.matchStartTime = matchStartTime;
         this.groupId = groupId;
     }
+
+    // 위도/경도 0.01도 격자 기준으로 두 매칭이 떨어진 칸 수
+    public int getCellDistance(MatchMaking other) {
+        int latDiff = Math.abs((int) (latitude * 100) - (int) (other.latitude * 100));
+        int lngDiff = Math.abs((int) (longitude * 100) - (int) (other.longitude * 100));
+        return Math.max(latDiff, lngDiff);
+    }
 }
@@ -13,6 +13,7 @@ import java.util.List;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Table(indexes = @Index(name = "idx_matching_next_evaluation_time", columnList = "nextEvaluationTime"))   // 허용 범위가 넓어질 매칭 조회
 public class Matching {
 
     @Id
@@ -34,6 +35,8 @@ public class Matching {
 
     private LocalDateTime matchingStartTime;
 
+    private LocalDateTime nextEvaluationTime;   // 다음으로 검색 범위나 허용 rating 차이가 넓어지는 시간, 둘 다 최대값에 도달하면 null
+
     @OneToMany(mappedBy = "matching",fetch = FetchType.LAZY,cascade = {CascadeType.PERSIST, CascadeType.REMOVE})
     private List<MatchStartTime> matchStartTimes = new ArrayList<>();
 
@@ -53,6 +56,10 @@ public class Matching {
         this.group = group;
     }
 
+    public void changeNextEvaluationTime(LocalDateTime nextEvaluationTime) {
+        this.nextEvaluationTime = nextEvaluationTime;
+    }
+
     public void addMatchStartTimes(List<MatchStartTime> matchStartTimeList) {
         this.matchStartTimes.addAll(matchStartTimeList);
     }
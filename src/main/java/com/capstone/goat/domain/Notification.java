@@ -12,6 +12,10 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_notification_receiver_id", columnList = "receiver_id, id"),  // 유저별 알림 keyset 페이징
+        @Index(name = "idx_notification_type_send_time", columnList = "type, sendTime") // 만료된 그룹 초대 알림 일괄 삭제
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,7 +26,7 @@ public class Notification {
     private String content;
 
     @CreationTimestamp
-    private LocalDateTime sendTime; // 오래된 그룹 초대 알림이면 알림 조회 시 삭제 후 반환
+    private LocalDateTime sendTime; // 오래된 그룹 초대 알림은 주기적으로 일괄 삭제
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_id")
@@ -9,6 +9,7 @@ import javax.persistence.*;
 
 @Getter
 @Entity
+@Table(indexes = @Index(name = "idx_teammate_user_id", columnList = "userId, id"))  // 유저별 전적 keyset 페이징
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Teammate {
 
@@ -35,4 +35,8 @@ public class VotedCourt {
     public void upCount(){
         this.count++;
     }
+
+    public void addCount(int count){
+        this.count += count;
+    }
 }
@@ -2,6 +2,8 @@ package com.capstone.goat.dto.response;
 
 
 import com.capstone.goat.domain.Chat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
@@ -13,6 +15,10 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 public class ChatResponseDto {
+    // 2^53을 넘는 id이므로 JavaScript에서 반올림되지 않도록 문자열로 전송
+    @Schema(description = "채팅 id, 시간 순으로 증가하는 숫자 문자열", type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
     @Schema(description = "대화 내용")
     private String comment;
     @Schema(description = "시간")
@@ -21,13 +27,14 @@ public class ChatResponseDto {
     private String userNickname;
 
     @Builder
-    private ChatResponseDto(String comment, LocalDateTime time, String userNickname){
+    private ChatResponseDto(Long id, String comment, LocalDateTime time, String userNickname){
+        this.id = id;
         this.comment = comment;
         this.time = time;
         this.userNickname = userNickname;
     }
 
     public static ChatResponseDto of(Chat chat){
-        return ChatResponseDto.builder().comment(chat.getComment()).time(chat.getTime()).userNickname(chat.getUserNickname()).build();
+        return ChatResponseDto.builder().id(chat.getId()).comment(chat.getComment()).time(chat.getTime()).userNickname(chat.getUserNickname()).build();
     }
 }
@@ -0,0 +1,49 @@
+package com.capstone.goat.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class SliceResponseDto<T> {
+
+    private final List<T> content;
+
+    // 다음 페이지 요청 시 cursor로 전달, 마지막 페이지면 null
+    // 채팅 id처럼 2^53을 넘는 값이 JavaScript에서 반올림되지 않도록 문자열로 전송
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long nextCursor;
+
+    private final boolean hasNext;
+
+    @Builder(access = AccessLevel.PRIVATE)
+    private SliceResponseDto(List<T> content, Long nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * size + 1개를 조회한 결과로 한 페이지를 생성
+     *
+     * @param rows     - 커서 순서로 최대 size + 1개 조회한 결과.
+     * @param size     - 페이지 크기.
+     * @param cursorOf - 행에서 커서 값을 추출하는 함수.
+     * @param mapper   - 행을 응답 Dto로 변환하는 함수.
+     */
+    public static <R, T> SliceResponseDto<T> of(List<R> rows, int size, Function<R, Long> cursorOf, Function<R, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+
+        return SliceResponseDto.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+}
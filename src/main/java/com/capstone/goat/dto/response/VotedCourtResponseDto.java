@@ -23,4 +23,7 @@ public class VotedCourtResponseDto {
     public static VotedCourtResponseDto of(VotedCourt votedCourt){
         return VotedCourtResponseDto.builder().court(votedCourt.getCourt()).count(votedCourt.getCount()).build();
     }
+    public static VotedCourtResponseDto of(String court, int count){
+        return VotedCourtResponseDto.builder().court(court).count(count).build();
+    }
 }
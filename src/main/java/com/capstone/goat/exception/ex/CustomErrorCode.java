@@ -62,6 +62,8 @@ public enum CustomErrorCode {
     TOO_MANY_GROUP_MEMBERS(HttpStatus.BAD_REQUEST, "그룹원의 수가 해당 스포츠의 한 팀 최대 인원보다 큽니다."),
     // 404
     NO_MATCHING(HttpStatus.NOT_FOUND, "매칭 중이 아닙니다."),
+    // 409
+    MATCHING_IN_PROGRESS(HttpStatus.CONFLICT, "이미 매칭이 성사되어 게임을 생성하는 중이므로 매칭을 취소할 수 없습니다."),
 
     // Teammate 관련
     // 404
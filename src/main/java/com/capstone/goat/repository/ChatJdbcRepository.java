@@ -0,0 +1,36 @@
+package com.capstone.goat.repository;
+
+import com.capstone.goat.domain.Chat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// 버퍼에 모인 채팅을 JDBC batch insert로 저장, id는 ChatIdGenerator가 미리 생성
+@Repository
+@RequiredArgsConstructor
+public class ChatJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 실패한 batch를 다시 저장할 때 일부만 저장되어 id가 중복되지 않도록 한 트랜잭션으로 저장
+    @Transactional
+    public void saveAll(List<Chat> chatList) {
+
+        jdbcTemplate.batchUpdate(
+                "insert into chat (id, comment, time, game_id, user_nickname) values (?, ?, ?, ?, ?)",
+                chatList,
+                chatList.size(),
+                (ps, chat) -> {
+                    ps.setLong(1, chat.getId());
+                    ps.setString(2, chat.getComment());
+                    ps.setTimestamp(3, Timestamp.valueOf(chat.getTime()));
+                    ps.setLong(4, chat.getGameId());
+                    ps.setString(5, chat.getUserNickname());
+                }
+        );
+    }
+}
@@ -1,10 +1,16 @@
 package com.capstone.goat.repository;
 
 import com.capstone.goat.domain.Chat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface ChatRepository extends JpaRepository<Chat,Long> {
     List<Chat> findAllByGameId(Long gameId);
+
+    // 게임 채팅을 id 내림차순으로 before 이전부터 조회, before가 null이면 최신 채팅부터
+    @Query("select c from Chat c where c.gameId = :gameId and (:before is null or c.id < :before) order by c.id desc")
+    List<Chat> findByGameIdBefore(Long gameId, Long before, Pageable pageable);
 }
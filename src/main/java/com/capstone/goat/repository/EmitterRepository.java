@@ -2,43 +2,87 @@ package com.capstone.goat.repository;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
 public class EmitterRepository {
-    // 모든 Emitters를 저장하는 ConcurrentHashMap
-    private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
+
+    // 하트비트를 샤드 단위로 나누어 보내기 위해 연결을 여러 샤드에 분산 저장
+    public static final int SHARD_COUNT = 16;
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, SseConnection>[] shards = new Map[SHARD_COUNT];
+
+    {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
 
     /**
-     * 주어진 아이디와 이미터를 저장
+     * 주어진 아이디와 연결을 저장
      *
-     * @param id      - 사용자 아이디.
-     * @param emitter - 이벤트 Emitter.
+     * @param id         - 사용자 아이디.
+     * @param connection - SSE 연결.
+     * @return SseConnection - 같은 아이디로 저장되어 있던 이전 연결, 없으면 null.
      */
-    public void save(Long id, SseEmitter emitter) {
-        emitters.put(id, emitter);
+    public SseConnection save(Long id, SseConnection connection) {
+        return shardOf(id).put(id, connection);
     }
 
     /**
-     * 주어진 아이디의 Emitter를 제거
+     * 주어진 아이디의 연결을 제거
      *
      * @param id - 사용자 아이디.
+     * @return SseConnection - 제거된 연결, 없으면 null.
+     */
+    public SseConnection deleteById(Long id) {
+        return shardOf(id).remove(id);
+    }
+
+    /**
+     * 주어진 아이디에 저장된 연결이 connection과 같을 때에만 제거, 재연결로 교체된 새 연결은 유지
+     *
+     * @param id         - 사용자 아이디.
+     * @param connection - 제거할 SSE 연결.
      */
-    public void deleteById(Long id) {
-        emitters.remove(id);
+    public void deleteById(Long id, SseConnection connection) {
+        shardOf(id).remove(id, connection);
     }
 
     /**
-     * 주어진 아이디의 Emitter를 가져옴.
+     * 주어진 아이디의 연결을 가져옴.
      *
      * @param id - 사용자 아이디.
-     * @return SseEmitter - 이벤트 Emitter.
+     * @return SseConnection - SSE 연결.
      */
-    public SseEmitter get(Long id) {
-        return emitters.get(id);
+    public SseConnection get(Long id) {
+        return shardOf(id).get(id);
+    }
+
+    /**
+     * 주어진 샤드의 모든 연결에 대해 action을 실행
+     *
+     * @param shard  - 샤드 번호.
+     * @param action - 실행할 동작.
+     */
+    public void forEachInShard(int shard, Consumer<SseConnection> action) {
+        shards[shard].values().forEach(action);
+    }
+
+    public int count() {
+        int count = 0;
+        for (Map<Long, SseConnection> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    private Map<Long, SseConnection> shardOf(Long id) {
+        return shards[Math.floorMod(Long.hashCode(id), SHARD_COUNT)];
     }
-}
\ No newline at end of file
+}
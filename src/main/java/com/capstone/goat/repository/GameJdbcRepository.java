@@ -0,0 +1,46 @@
+package com.capstone.goat.repository;
+
+import com.capstone.goat.domain.Teammate;
+import com.capstone.goat.domain.VotedCourt;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 게임 생성 시 한 번에 여러 행이 추가되는 엔티티를 JDBC batch insert로 저장
+// IDENTITY 전략에서는 JPA가 insert를 batch로 묶지 못하므로 JdbcTemplate을 사용
+@Repository
+@RequiredArgsConstructor
+public class GameJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveAllTeammates(List<Teammate> teammateList) {
+
+        jdbcTemplate.batchUpdate(
+                "insert into teammate (team_number, user_id, game_id) values (?, ?, ?)",
+                teammateList,
+                teammateList.size(),
+                (ps, teammate) -> {
+                    ps.setInt(1, teammate.getTeamNumber());
+                    ps.setLong(2, teammate.getUserId());
+                    ps.setLong(3, teammate.getGame().getId());
+                }
+        );
+    }
+
+    public void saveAllVotedCourts(List<VotedCourt> votedCourtList) {
+
+        jdbcTemplate.batchUpdate(
+                "insert into voted_court (court, count, game_id) values (?, ?, ?)",
+                votedCourtList,
+                votedCourtList.size(),
+                (ps, votedCourt) -> {
+                    ps.setString(1, votedCourt.getCourt());
+                    ps.setInt(2, votedCourt.getCount());
+                    ps.setLong(3, votedCourt.getGame().getId());
+                }
+        );
+    }
+}
@@ -2,6 +2,19 @@ package com.capstone.goat.repository;
 
 import com.capstone.goat.domain.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
 
 public interface GameRepository extends JpaRepository<Game,Long> {
+
+    @Query("select distinct g from Game g left join fetch g.preferCourts where g.id = :gameId")
+    Optional<Game> findWithPreferCourtsById(Long gameId);
+
+    // 여러 서버의 경기장 투표를 게임별로 차례로 처리하기 위한 행 잠금 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from Game g where g.id = :gameId")
+    Optional<Game> findForUpdateById(Long gameId);
 }
@@ -2,13 +2,33 @@ package com.capstone.goat.repository;
 
 import com.capstone.goat.domain.MatchMaking;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MatchMakingRepository {
 
     void save(MatchMaking matchMaking);
 
-    List<MatchMaking> findByMatchingAndMatchingRange(MatchMaking matchMaking, int matchingRange);
+    // 한 그룹의 게임 시작 시간별 매칭을 한 번에 저장
+    void saveAll(List<MatchMaking> matchMakingList);
 
-    void deleteByGroupIdAndLatitudeAndLongitude(long groupId, double latitude, double longitude);
+    // 같은 종목, 게임 시작 시간, 클럽 매칭 여부이면서 검색 범위 안에 있고, 일반 매칭이면 rating 차이가 ratingMaxDiff 미만인 매칭을 오래 기다린 순서로 검색
+    List<MatchMaking> findByMatchingAndMatchingRange(MatchMaking matchMaking, int matchingRange, int ratingMaxDiff);
+
+    // 같은 종목, 게임 시작 시간, 클럽 매칭 여부이면서 검색 범위 안에 있는 모든 매칭을 rating과 관계없이 검색
+    List<MatchMaking> findAllByMatchingAndMatchingRange(MatchMaking matchMaking, int matchingRange);
+
+    // 검색 범위를 matchingRange로 넓혔을 때 새로 포함되는 테두리에 매칭이 있는지 확인
+    boolean existsByMatchingAndMatchingRing(MatchMaking matchMaking, int matchingRange);
+
+    // 허용 rating 차이를 ratingMaxDiff로 넓혔을 때 검색 범위 안에서 새로 포함되는(rating 차이가 minRatingDiff 이상 ratingMaxDiff 미만인) 일반 매칭이 있는지 확인
+    boolean existsByMatchingAndRatingRing(MatchMaking matchMaking, int matchingRange, int minRatingDiff, int ratingMaxDiff);
+
+    List<MatchMaking> findByGroupId(long groupId);
+
+    // 주어진 그룹들을 모두 선점할 수 있을 때에만 대기열에서 제거하고 제거된 매칭을 반환, 하나라도 선점할 수 없으면 빈 리스트 반환
+    List<MatchMaking> claimByGroupIds(Collection<Long> groupIds);
+
+    // 대기열에서 그룹을 제거했는지 여부를 반환, 다른 매칭에 이미 선점되었거나 대기열에 없으면 false
+    boolean deleteByGroupId(long groupId);
 }
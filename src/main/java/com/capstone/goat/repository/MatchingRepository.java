@@ -2,10 +2,15 @@ package com.capstone.goat.repository;
 
 
 import com.capstone.goat.domain.Matching;
+import com.capstone.goat.domain.Sport;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +20,48 @@ public interface MatchingRepository extends JpaRepository<Matching, Long> {
 
     void deleteByGroupId(long groupId);
 
-    @Query(value = "select * from matching m where timestampdiff(minute, m.matching_start_time, :now) % 1 = 0 and timestampdiff(minute, m.matching_start_time, :now) != 0", nativeQuery = true)
-    List<Matching> findOldMatchingList(LocalDateTime now);
+    // 허용 범위가 넓어질 시간이 된 매칭을 그룹 id와 함께 다음 평가 시간 순으로 조회
+    @Query("select m.id as id, m.group.id as groupId, m.sport as sport, m.matchingStartTime as matchingStartTime, m.nextEvaluationTime as nextEvaluationTime " +
+            "from Matching m where m.nextEvaluationTime <= :now order by m.nextEvaluationTime")
+    List<DueMatchingView> findDueForEvaluation(LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Matching m set m.nextEvaluationTime = :nextEvaluationTime where m.id in :ids")
+    int updateNextEvaluationTimeByIdIn(LocalDateTime nextEvaluationTime, Collection<Long> ids);
+
+    // 서버 시작 시 대기열 복구용, id 순으로 cursor 이후의 매칭을 그룹 id와 함께 조회
+    @Query("select m.id as id, m.group.id as groupId, m.rating as rating, m.sport as sport, m.latitude as latitude, m.longitude as longitude, " +
+            "m.preferCourt as preferCourt, m.isClubMatching as isClubMatching, m.matchingStartTime as matchingStartTime, m.nextEvaluationTime as nextEvaluationTime " +
+            "from Matching m where m.id > :cursor order by m.id")
+    List<QueuedMatchingView> findQueuedAfter(Long cursor, Pageable pageable);
+
+    @Query("select t.matching.id as matchingId, t.startTime as startTime from MatchStartTime t where t.matching.id in :matchingIds")
+    List<StartTimeView> findStartTimesByMatchingIdIn(Collection<Long> matchingIds);
+
+    interface QueuedMatchingView {
+        Long getId();
+        Long getGroupId();
+        Integer getRating();
+        Sport getSport();
+        Double getLatitude();
+        Double getLongitude();
+        String getPreferCourt();
+        Boolean getIsClubMatching();
+        LocalDateTime getMatchingStartTime();
+        LocalDateTime getNextEvaluationTime();
+    }
+
+    interface StartTimeView {
+        Long getMatchingId();
+        String getStartTime();
+    }
+
+    interface DueMatchingView {
+        Long getId();
+        Long getGroupId();
+        Sport getSport();
+        LocalDateTime getMatchingStartTime();
+        LocalDateTime getNextEvaluationTime();
+    }
 }
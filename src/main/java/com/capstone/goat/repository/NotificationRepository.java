@@ -2,7 +2,9 @@ package com.capstone.goat.repository;
 
 import com.capstone.goat.domain.Notification;
 import com.capstone.goat.domain.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
@@ -10,10 +12,38 @@ import java.util.List;
 
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    @Query("SELECT n.sendTime FROM Notification n WHERE n.sender.id = :userId and n.type = :type")
-    List<LocalDateTime> findSendTimeBySenderIdAndType(Long userId, NotificationType type);
-    @Query("SELECT n.sendTime FROM Notification n WHERE n.receiver.id = :userId and n.type = :type")
-    List<LocalDateTime> findSendTimeByReceiverIdAndType(Long userId, NotificationType type);
-    List<Notification> findAllByReceiverIdOrderByIdDesc(Long receiverId);
+    // 유저의 알림을 보낸 유저 닉네임과 함께 id 내림차순으로 cursor 이후부터 조회, inviteCutoff 이전에 보낸 그룹 초대 알림은 제외
+    @Query("select n.id as id, n.type as type, n.content as content, n.sendTime as sendTime, s.nickname as senderNickname " +
+            "from Notification n left join n.sender s " +
+            "where n.receiver.id = :receiverId and (:cursor is null or n.id < :cursor) " +
+            "and (n.type <> :inviteType or n.sendTime >= :inviteCutoff) " +
+            "order by n.id desc")
+    List<InboxView> findInboxByReceiverId(Long receiverId, Long cursor, NotificationType inviteType, LocalDateTime inviteCutoff, Pageable pageable);
 
-}
\ No newline at end of file
+    // 그룹 초대를 제외한 유저의 알림 수
+    @Query("select count(n) from Notification n where n.receiver.id = :receiverId and n.type <> :inviteType")
+    long countByReceiverIdAndTypeNot(Long receiverId, NotificationType inviteType);
+
+    @Modifying
+    @Query("delete from Notification n where n.type = :type and n.sendTime < :cutoff")
+    int deleteAllByTypeAndSendTimeBefore(NotificationType type, LocalDateTime cutoff);
+
+    // since 이후에 보낸 알림의 보낸 유저, 받은 유저 id
+    @Query("select n.sender.id as senderId, n.receiver.id as receiverId, n.sendTime as sendTime " +
+            "from Notification n where n.type = :type and n.sendTime > :since")
+    List<InviteView> findInvitesByTypeAndSendTimeAfter(NotificationType type, LocalDateTime since);
+
+    interface InboxView {
+        Long getId();
+        NotificationType getType();
+        String getContent();
+        LocalDateTime getSendTime();
+        String getSenderNickname();
+    }
+
+    interface InviteView {
+        Long getSenderId();
+        Long getReceiverId();
+        LocalDateTime getSendTime();
+    }
+}
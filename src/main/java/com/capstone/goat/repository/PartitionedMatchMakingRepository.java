@@ -0,0 +1,432 @@
+package com.capstone.goat.repository;
+
+import com.capstone.goat.domain.MatchMaking;
+import com.capstone.goat.domain.Sport;
+import com.capstone.goat.exception.ex.CustomErrorCode;
+import com.capstone.goat.exception.ex.CustomException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 매칭 대기열을 종목 x 게임 시작 시간 x 클럽 매칭 여부로 먼저 나누고,
+ * 각 파티션 안에서는 rating 구간(RATING_BAND_SIZE점)별로 사용 중인 격자 칸(위도/경도 0.01도)만 해시맵으로 보관하는 MatchMakingRepository
+ * <p>
+ * 일반 매칭은 허용 점수 차이에 걸치는 rating 구간만 검색하여 점수 차이가 큰 매칭은 비교하지 않는다. 클럽 매칭은 rating을 보지 않으므로 구간이 하나뿐이다.
+ * <p>
+ * 파티션마다 별도의 읽기/쓰기 락을 두어 서로 다른 파티션의 매칭은 동시에 진행되고,
+ * 매칭된 그룹은 claimByGroupIds로 원자적으로 선점하여 같은 그룹이 두 게임에 배정되지 않도록 한다.
+ */
+@Repository
+public class PartitionedMatchMakingRepository implements MatchMakingRepository {
+
+    private static final int LATINIT = 3311;     // 최서단 위도 38.611111     최동단 위도 33.111944    550
+    private static final int LNGINIT = 12461;    // 최북단 경도 124.610000    최남단 경도 131.869556   725
+    private static final int LATSIZE = 550;
+    private static final int LNGSIZE = 725;
+
+    private static final int RATING_MAX = 1000;   // Rating.updateRating의 최대 점수
+    private static final int RATING_BAND_SIZE = 50;
+
+    // 파티션은 종목 수 x 30분 단위 시간 x 2 이하이므로 한 번 생성되면 삭제하지 않음
+    private final Map<PartitionKey, Partition> partitions = new ConcurrentHashMap<>();
+
+    // 대기 중인 그룹 -> 그룹의 매칭 목록과 선점 여부
+    private final Map<Long, QueuedGroup> groups = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(MatchMaking matchMaking) {
+        saveAll(List.of(matchMaking));
+    }
+
+    @Override
+    public void saveAll(List<MatchMaking> matchMakingList) {
+        for (MatchMaking matchMaking : matchMakingList) {
+            int cellKey = getCellKey(getLatIndex(matchMaking.getLatitude()), getLngIndex(matchMaking.getLongitude()));
+            int band = matchMaking.getIsClubMatching() ? 0 : getRatingBand(matchMaking.getRating());
+
+            QueuedGroup group = groups.computeIfAbsent(matchMaking.getGroupId(), QueuedGroup::new);
+            Slot slot = new Slot(matchMaking, cellKey, band, group);
+            group.slots.add(slot);
+
+            Partition partition = partitions.computeIfAbsent(PartitionKey.of(matchMaking), key -> new Partition());
+            partition.lock.writeLock().lock();
+            try {
+                Map<Integer, LinkedList<Slot>> cells = partition.bands.computeIfAbsent(band, key -> new HashMap<>());
+                insertInWaitOrder(cells.computeIfAbsent(cellKey, key -> new LinkedList<>()), slot);
+            } finally {
+                partition.lock.writeLock().unlock();
+            }
+
+            // 저장 도중 그룹이 선점되었으면 뒤늦게 추가된 매칭도 제거
+            if (group.claimed.get()) removeSlot(slot);
+        }
+    }
+
+    // 칸 안의 매칭을 매칭 시작 시간 순으로 유지, 대부분 가장 최근이므로 뒤에서부터 위치를 찾음
+    private void insertInWaitOrder(LinkedList<Slot> cell, Slot slot) {
+        LocalDateTime matchingStartTime = slot.matchMaking.getMatchingStartTime();
+
+        ListIterator<Slot> iterator = cell.listIterator(cell.size());
+        while (iterator.hasPrevious()) {
+            if (!iterator.previous().matchMaking.getMatchingStartTime().isAfter(matchingStartTime)) {
+                iterator.next();
+                break;
+            }
+        }
+        iterator.add(slot);
+    }
+
+    @Override
+    public List<MatchMaking> findByMatchingAndMatchingRange(MatchMaking newMatchMaking, int matchingRange, int ratingMaxDiff) {
+        List<MatchMaking> matchedList = new ArrayList<>();
+
+        // 종목, 게임 시작 시간, 클럽 매칭 여부가 같은 파티션만 검색
+        Partition partition = partitions.get(PartitionKey.of(newMatchMaking));
+        if (partition == null) return matchedList;
+
+        // 허용 점수 차이에 걸치는 rating 구간, 클럽 매칭은 구간이 하나뿐
+        boolean isClubMatching = newMatchMaking.getIsClubMatching();
+        int startBand = isClubMatching ? 0 : getRatingBand(newMatchMaking.getRating() - ratingMaxDiff + 1);
+        int endBand = isClubMatching ? 0 : getRatingBand(newMatchMaking.getRating() + ratingMaxDiff - 1);
+
+        partition.lock.readLock().lock();
+        try {
+            // 각 칸은 매칭 시작 시간 순으로 정렬되어 있으므로 칸의 맨 앞끼리 비교하는 k-way 병합으로 오래 기다린 순서대로 검색
+            PriorityQueue<CellCursor> cursors = new PriorityQueue<>(Comparator.comparing(CellCursor::getMatchingStartTime));
+            for (int band = startBand; band <= endBand; band++) {
+                Map<Integer, LinkedList<Slot>> cells = partition.bands.get(band);
+                if (cells == null) continue;
+
+                anyCellInRange(cells, newMatchMaking, matchingRange, false, cell -> {
+                    cursors.add(new CellCursor(cell));
+                    return false;
+                });
+            }
+
+            // 두 팀을 채울 수 있는 인원이 모이면 나머지는 검색하지 않음
+            TeamFillTracker tracker = new TeamFillTracker(newMatchMaking.getSport().getPlayer(), newMatchMaking.getIsClubMatching());
+            while (!cursors.isEmpty()) {
+                CellCursor cursor = cursors.poll();
+                MatchMaking matchMaking = cursor.head.matchMaking;
+
+                // 이미 선점된 그룹은 제외, 일반 매칭일 경우 양 끝 구간에 범위 밖의 매칭이 있으므로 rating도 비교하여 비슷할 경우 추가
+                if (!cursor.head.group.claimed.get()
+                        && (isClubMatching || Math.abs(matchMaking.getRating() - newMatchMaking.getRating()) < ratingMaxDiff)) {
+                    matchedList.add(matchMaking);
+                    if (tracker.add(matchMaking.getUserCount())) break;
+                }
+
+                if (cursor.advance()) cursors.add(cursor);
+            }
+        } finally {
+            partition.lock.readLock().unlock();
+        }
+
+        return matchedList;
+    }
+
+    @Override
+    public List<MatchMaking> findAllByMatchingAndMatchingRange(MatchMaking newMatchMaking, int matchingRange) {
+        List<MatchMaking> foundList = new ArrayList<>();
+
+        Partition partition = partitions.get(PartitionKey.of(newMatchMaking));
+        if (partition == null) return foundList;
+
+        partition.lock.readLock().lock();
+        try {
+            for (Map<Integer, LinkedList<Slot>> cells : partition.bands.values()) {
+                anyCellInRange(cells, newMatchMaking, matchingRange, false, cell -> {
+                    cell.stream().filter(slot -> !slot.group.claimed.get()).forEach(slot -> foundList.add(slot.matchMaking));
+                    return false;
+                });
+            }
+        } finally {
+            partition.lock.readLock().unlock();
+        }
+
+        return foundList;
+    }
+
+    @Override
+    public boolean existsByMatchingAndMatchingRing(MatchMaking newMatchMaking, int matchingRange) {
+        Partition partition = partitions.get(PartitionKey.of(newMatchMaking));
+        if (partition == null) return false;
+
+        partition.lock.readLock().lock();
+        try {
+            for (Map<Integer, LinkedList<Slot>> cells : partition.bands.values()) {
+                if (anyCellInRange(cells, newMatchMaking, matchingRange, true,
+                        cell -> cell.stream().anyMatch(slot -> !slot.group.claimed.get()))) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            partition.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByMatchingAndRatingRing(MatchMaking newMatchMaking, int matchingRange, int minRatingDiff, int ratingMaxDiff) {
+        // 클럽 매칭은 rating을 보지 않음
+        if (newMatchMaking.getIsClubMatching() || minRatingDiff >= ratingMaxDiff) return false;
+
+        Partition partition = partitions.get(PartitionKey.of(newMatchMaking));
+        if (partition == null) return false;
+
+        int rating = newMatchMaking.getRating();
+        int startBand = getRatingBand(rating - ratingMaxDiff + 1);
+        int endBand = getRatingBand(rating + ratingMaxDiff - 1);
+
+        partition.lock.readLock().lock();
+        try {
+            for (int band = startBand; band <= endBand; band++) {
+                Map<Integer, LinkedList<Slot>> cells = partition.bands.get(band);
+                if (cells == null) continue;
+
+                if (anyCellInRange(cells, newMatchMaking, matchingRange, false, cell -> cell.stream().anyMatch(slot -> {
+                    int ratingDiff = Math.abs(slot.matchMaking.getRating() - rating);
+                    return !slot.group.claimed.get() && !Objects.equals(slot.matchMaking.getGroupId(), newMatchMaking.getGroupId())
+                            && ratingDiff >= minRatingDiff && ratingDiff < ratingMaxDiff;
+                }))) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            partition.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MatchMaking> findByGroupId(long groupId) {
+        QueuedGroup group = groups.get(groupId);
+        if (group == null || group.claimed.get()) return List.of();
+
+        return group.slots.stream().map(Slot::matchMaking).toList();
+    }
+
+    /**
+     * 한 rating 구간의 칸 중 기준 매칭의 칸에서 matchingRange 칸 이내(ringOnly이면 정확히 matchingRange 칸 떨어진 테두리)의 사용 중인 칸을 순회
+     * 사용 중인 칸이 검색 범위의 칸 수보다 적으면 사용 중인 칸만 순회, 아니면 범위 내 칸만 조회
+     *
+     * @return visitor가 true를 반환하여 순회를 멈췄는지 여부
+     */
+    private boolean anyCellInRange(Map<Integer, LinkedList<Slot>> cells, MatchMaking matchMaking, int matchingRange, boolean ringOnly, Predicate<LinkedList<Slot>> visitor) {
+        int latIndex = getLatIndex(matchMaking.getLatitude());
+        int lngIndex = getLngIndex(matchMaking.getLongitude());
+
+        int startLat = Math.max(0, latIndex - matchingRange);
+        int endLat = Math.min(LATSIZE - 1, latIndex + matchingRange);
+        int startLng = Math.max(0, lngIndex - matchingRange);
+        int endLng = Math.min(LNGSIZE - 1, lngIndex + matchingRange);
+
+        int windowSize = (endLat - startLat + 1) * (endLng - startLng + 1);
+        if (cells.size() < windowSize) {
+            for (Map.Entry<Integer, LinkedList<Slot>> entry : cells.entrySet()) {
+                int cellLat = entry.getKey() / LNGSIZE;
+                int cellLng = entry.getKey() % LNGSIZE;
+                int distance = Math.max(Math.abs(cellLat - latIndex), Math.abs(cellLng - lngIndex));
+                if (distance <= matchingRange && (!ringOnly || distance == matchingRange) && visitor.test(entry.getValue())) {
+                    return true;
+                }
+            }
+        } else {
+            for (int i = startLat; i <= endLat; i++) {
+                for (int j = startLng; j <= endLng; j++) {
+                    if (ringOnly && Math.max(Math.abs(i - latIndex), Math.abs(j - lngIndex)) != matchingRange) continue;
+
+                    LinkedList<Slot> cell = cells.get(getCellKey(i, j));
+                    if (cell != null && visitor.test(cell)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<MatchMaking> claimByGroupIds(Collection<Long> groupIds) {
+
+        // 모든 그룹의 선점 플래그를 획득해야만 성공, 하나라도 실패하면 획득한 플래그를 되돌림
+        List<QueuedGroup> claimedGroups = new ArrayList<>();
+        for (Long groupId : groupIds) {
+            QueuedGroup group = groups.get(groupId);
+            if (group == null || !group.claimed.compareAndSet(false, true)) {
+                claimedGroups.forEach(claimedGroup -> claimedGroup.claimed.set(false));
+                return List.of();
+            }
+            claimedGroups.add(group);
+        }
+
+        List<MatchMaking> claimedList = new ArrayList<>();
+        for (QueuedGroup group : claimedGroups) {
+            removeGroup(group);
+            group.slots.forEach(slot -> claimedList.add(slot.matchMaking));
+        }
+        return claimedList;
+    }
+
+    @Override
+    public boolean deleteByGroupId(long groupId) {
+        QueuedGroup group = groups.get(groupId);
+
+        // 이미 다른 매칭에 선점된 그룹이면 선점한 쪽에서 게임을 만드는 중이므로 삭제하지 않음
+        if (group == null || !group.claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        removeGroup(group);
+        return true;
+    }
+
+    private void removeGroup(QueuedGroup group) {
+        groups.remove(group.groupId, group);
+        group.slots.forEach(this::removeSlot);
+    }
+
+    private void removeSlot(Slot slot) {
+        Partition partition = partitions.get(PartitionKey.of(slot.matchMaking));
+        partition.lock.writeLock().lock();
+        try {
+            Map<Integer, LinkedList<Slot>> cells = partition.bands.get(slot.band);
+            LinkedList<Slot> cell = cells != null ? cells.get(slot.cellKey) : null;
+            if (cell != null && cell.remove(slot) && cell.isEmpty()) {
+                cells.remove(slot.cellKey);
+                if (cells.isEmpty()) partition.bands.remove(slot.band);
+            }
+        } finally {
+            partition.lock.writeLock().unlock();
+        }
+    }
+
+    private int getCellKey(int latIndex, int lngIndex) {
+        return latIndex * LNGSIZE + lngIndex;
+    }
+
+    // 위도를 격자의 인덱스로 변환
+    private int getLatIndex(double latitude) {
+        int latIndex = (int) (latitude * 100 - LATINIT);
+
+        if (latIndex >= LATSIZE || latIndex < 0)
+            throw new CustomException(CustomErrorCode.LATITUDE_NOT_IN_KOREA);
+
+        return latIndex;
+    }
+
+    // 경도를 격자의 인덱스로 변환
+    private int getLngIndex(double longitude) {
+        int lngIndex = (int) ( longitude * 100 - LNGINIT );
+
+        if (lngIndex >= LNGSIZE || lngIndex < 0)
+            throw new CustomException(CustomErrorCode.LONGITUDE_NOT_IN_KOREA);
+
+        return lngIndex;
+    }
+
+    // rating 점수를 구간 번호로 변환, 범위 밖의 점수는 양 끝 구간에 포함
+    private int getRatingBand(int rating) {
+        return Math.max(0, Math.min(rating, RATING_MAX)) / RATING_BAND_SIZE;
+    }
+
+    // 종목 x 게임 시작 시간 x 클럽 매칭 여부
+    private record PartitionKey(Sport sport, String matchStartTime, boolean isClubMatching) {
+
+        static PartitionKey of(MatchMaking matchMaking) {
+            return new PartitionKey(matchMaking.getSport(), matchMaking.getMatchStartTime(), matchMaking.getIsClubMatching());
+        }
+    }
+
+    // 파티션별 락, bands는 락을 잡은 상태에서만 접근
+    private static class Partition {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // rating 구간 -> 격자 칸 키 -> 매칭 시작 시간 순으로 정렬된 매칭 목록
+        private final Map<Integer, Map<Integer, LinkedList<Slot>>> bands = new HashMap<>();
+    }
+
+    // k-way 병합에서 한 칸의 현재 위치
+    private static class CellCursor {
+
+        private final Iterator<Slot> iterator;
+
+        private Slot head;
+
+        private CellCursor(LinkedList<Slot> cell) {
+            this.iterator = cell.iterator();
+            this.head = iterator.next();    // 비어있는 칸은 보관하지 않음
+        }
+
+        private LocalDateTime getMatchingStartTime() {
+            return head.matchMaking.getMatchingStartTime();
+        }
+
+        private boolean advance() {
+            if (!iterator.hasNext()) return false;
+            head = iterator.next();
+            return true;
+        }
+    }
+
+    /**
+     * 검색된 인원으로 두 팀을 채울 수 있는지 추적
+     * 클럽 매칭은 한 그룹이 한 팀이므로 두 그룹, 일반 매칭은 그룹 인원 수로 player명씩 서로 겹치지 않는 두 집합을 만들 수 있으면 충분
+     */
+    private static class TeamFillTracker {
+
+        private final int player;
+
+        private final boolean isClubMatching;
+
+        // reachable[a][b]: 지금까지의 그룹으로 1팀 a명, 2팀 b명을 만들 수 있는지
+        private final boolean[][] reachable;
+
+        private int count = 0;
+
+        private TeamFillTracker(int player, boolean isClubMatching) {
+            this.player = player;
+            this.isClubMatching = isClubMatching;
+            this.reachable = new boolean[player + 1][player + 1];
+            this.reachable[0][0] = true;
+        }
+
+        private boolean add(int userCount) {
+            if (isClubMatching) return ++count >= 2;
+            if (userCount > player) return false;
+
+            // 0/1 배낭 문제처럼 큰 값부터 갱신하여 한 그룹이 두 번 쓰이지 않도록 함
+            for (int a = player; a >= 0; a--) {
+                for (int b = player; b >= 0; b--) {
+                    if (!reachable[a][b]) continue;
+                    if (a + userCount <= player) reachable[a + userCount][b] = true;
+                    if (b + userCount <= player) reachable[a][b + userCount] = true;
+                }
+            }
+            return reachable[player][player];
+        }
+    }
+
+    private static class QueuedGroup {
+
+        private final long groupId;
+
+        private final List<Slot> slots = new CopyOnWriteArrayList<>();
+
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        private QueuedGroup(long groupId) {
+            this.groupId = groupId;
+        }
+    }
+
+    private record Slot(MatchMaking matchMaking, int cellKey, int band, QueuedGroup group) {
+    }
+}
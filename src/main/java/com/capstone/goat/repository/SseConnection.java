@@ -0,0 +1,89 @@
+package com.capstone.goat.repository;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 한 클라이언트의 SSE Emitter와 크기가 제한된 전송 대기 버퍼
+ * <p>
+ * 버퍼가 가득 차면 가장 오래된 이벤트를 버리고, 하트비트는 버퍼가 비어 있을 때에만 추가하여 전송 대기 중인 이벤트와 합친다.
+ * 한 연결의 전송은 draining 플래그를 가진 하나의 작업만 수행하므로 이벤트 순서가 유지된다.
+ * 전송 중인 이벤트의 시작 시각을 기록하여 응답이 멈춘 클라이언트로의 전송이 제한 시간을 넘었는지 다른 스레드에서 확인할 수 있다.
+ */
+public class SseConnection {
+
+    @Getter
+    private final Long userId;
+
+    @Getter
+    private final SseEmitter emitter;
+
+    private final int capacity;
+
+    private final Deque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private final AtomicLong sendStartTime = new AtomicLong();   // 전송 중인 이벤트의 전송 시작 시각, 전송 중이 아니면 0
+
+    public SseConnection(Long userId, SseEmitter emitter, int capacity) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    // 이벤트를 버퍼에 추가, 버퍼가 가득 차서 가장 오래된 이벤트를 버렸으면 true
+    public synchronized boolean offer(SseEmitter.SseEventBuilder event) {
+        boolean dropped = false;
+        if (buffer.size() >= capacity) {
+            buffer.pollFirst();
+            dropped = true;
+        }
+        buffer.offerLast(event);
+        return dropped;
+    }
+
+    // 전송 대기 중인 이벤트가 없을 때에만 하트비트를 추가
+    public synchronized boolean offerHeartbeat(SseEmitter.SseEventBuilder heartbeat) {
+        if (!buffer.isEmpty()) return false;
+        buffer.offerLast(heartbeat);
+        return true;
+    }
+
+    public synchronized SseEmitter.SseEventBuilder poll() {
+        return buffer.pollFirst();
+    }
+
+    public synchronized int size() {
+        return buffer.size();
+    }
+
+    public boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    public void finishDrain() {
+        draining.set(false);
+    }
+
+    public void startSend() {
+        sendStartTime.set(System.currentTimeMillis());
+    }
+
+    public void finishSend() {
+        sendStartTime.set(0);
+    }
+
+    // 현재 전송이 sendTimeLimit을 넘었으면 true, 같은 전송에 대해서는 한 번만 true를 반환
+    public boolean expireSend(long sendTimeLimit) {
+        long startTime = sendStartTime.get();
+        return startTime != 0
+                && System.currentTimeMillis() - startTime > sendTimeLimit
+                && sendStartTime.compareAndSet(startTime, 0);
+    }
+}
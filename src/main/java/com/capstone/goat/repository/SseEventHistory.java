@@ -0,0 +1,63 @@
+package com.capstone.goat.repository;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 한 사용자에게 보낸 최근 SSE 이벤트를 보관하는 크기가 제한된 링 버퍼
+ * <p>
+ * 이벤트 id는 사용자별로 단조 증가하며, 서버가 재시작되어도 이전 id보다 커지도록 생성 시각(ms)에서 시작한다.
+ */
+public class SseEventHistory {
+
+    private final int capacity;
+
+    private final Deque<SseEvent> ring = new ArrayDeque<>();
+
+    private long lastEventId;
+
+    private volatile long lastConnectedTime;
+
+    public SseEventHistory(int capacity) {
+        this.capacity = capacity;
+        this.lastEventId = System.currentTimeMillis();
+        this.lastConnectedTime = System.currentTimeMillis();
+    }
+
+    public synchronized SseEvent append(String name, Object data) {
+        SseEvent event = new SseEvent(++lastEventId, name, data);
+        if (ring.size() >= capacity) {
+            ring.pollFirst();
+        }
+        ring.offerLast(event);
+        return event;
+    }
+
+    // lastEventId 이후의 이벤트를 오래된 순으로 반환
+    public synchronized List<SseEvent> findAfter(long lastEventId) {
+        return ring.stream()
+                .filter(event -> event.id() > lastEventId)
+                .toList();
+    }
+
+    public void touch() {
+        lastConnectedTime = System.currentTimeMillis();
+    }
+
+    public long getLastConnectedTime() {
+        return lastConnectedTime;
+    }
+
+    public record SseEvent(long id, String name, Object data) {
+
+        public SseEmitter.SseEventBuilder toBuilder() {
+            return SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(name)
+                    .data(data);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.capstone.goat.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+@Repository
+public class SseEventHistoryRepository {
+
+    private static final int HISTORY_CAPACITY = 50;   // 사용자별로 보관할 최근 이벤트 수
+
+    private final Map<Long, SseEventHistory> histories = new ConcurrentHashMap<>();
+
+    // 주어진 아이디의 이벤트 기록을 가져오고, 없으면 생성
+    public SseEventHistory getOrCreate(Long userId) {
+        return histories.computeIfAbsent(userId, id -> new SseEventHistory(HISTORY_CAPACITY));
+    }
+
+    public SseEventHistory get(Long userId) {
+        return histories.get(userId);
+    }
+
+    /**
+     * 마지막 연결 시각이 cutoff 이전이면서 isConnected가 false인 사용자의 이벤트 기록을 삭제
+     *
+     * @param cutoff      - 기준 시각(ms).
+     * @param isConnected - 사용자 아이디로 현재 연결 여부를 확인하는 함수.
+     */
+    public void deleteIdle(long cutoff, LongPredicate isConnected) {
+        histories.entrySet().removeIf(entry ->
+                entry.getValue().getLastConnectedTime() < cutoff && !isConnected.test(entry.getKey())
+        );
+    }
+}
@@ -1,6 +1,8 @@
 package com.capstone.goat.repository;
 
+import com.capstone.goat.domain.Sport;
 import com.capstone.goat.domain.Teammate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -9,10 +11,27 @@ import java.util.Optional;
 
 public interface TeammateRepository extends JpaRepository<Teammate,Long> {
     Optional<Teammate> findFirstByUserIdOrderByIdDesc(Long userId);
-    List<Teammate> findAllByUserIdOrderByIdDesc(Long userId);
-    List<Teammate> findAllByGameIdAndTeamNumber(Long gameId, Integer teamNumber);
+
+    // 경기장이 확정된 게임의 참가 기록을 teammate id 내림차순으로 cursor 이후부터 게임과 함께 조회
+    @Query("select t from Teammate t join fetch t.game g " +
+            "where t.userId = :userId and g.court is not null and (:cursor is null or t.id < :cursor) " +
+            "order by t.id desc")
+    List<Teammate> findFinishedByUserId(Long userId, Integer cursor, Pageable pageable);
     @Query("select t.userId from Teammate t where t.game.id = :gameId")
     List<Long> findUserIdsByGameId(Long gameId);
     Optional<Teammate> findByUserIdAndGameId(Long userId, Long gameId);
     List<Teammate> findByGameId(Long gameId);
+
+    // 게임의 양 팀 명단을 닉네임, 해당 스포츠 rating과 함께 한 번에 조회, 탈퇴한 유저는 nickname과 ratingScore가 null
+    @Query("select t.userId as userId, t.teamNumber as teamNumber, u.nickname as nickname, r.ratingScore as ratingScore " +
+            "from Teammate t left join User u on u.id = t.userId left join Rating r on r.user = u and r.sport = :sport " +
+            "where t.game.id = :gameId order by t.id")
+    List<RosterView> findRosterByGameId(Long gameId, Sport sport);
+
+    interface RosterView {
+        Long getUserId();
+        Integer getTeamNumber();
+        String getNickname();
+        Integer getRatingScore();
+    }
 }
@@ -0,0 +1,71 @@
+package com.capstone.goat.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 최대 크기와 TTL이 있는 메모리 캐시
+ * <p>
+ * 값이 없거나 만료되었으면 loader로 불러와 저장하고, 가득 차면 만료된 항목부터 제거한다.
+ * 원본이 변경되거나 삭제되면 invalidate로 제거해야 한다.
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> cache = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public TtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = cache.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.value();
+        }
+
+        V value = loader.get();
+        if (cache.size() >= maxSize) {
+            evict(now);
+        }
+        cache.put(key, new Entry<>(value, now + ttlMillis));
+        return value;
+    }
+
+    // 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 트랜잭션 중이면 커밋 후에도 한 번 더 제거
+    public void invalidate(K key) {
+        cache.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(key);
+                }
+            });
+        }
+    }
+
+    // 만료된 항목을 제거하고, 그래도 가득 차 있으면 임의의 항목을 제거하여 공간 확보
+    private void evict(long now) {
+        cache.values().removeIf(entry -> entry.expiresAt() <= now);
+
+        Iterator<K> iterator = cache.keySet().iterator();
+        while (cache.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.capstone.goat.repository;
 
+import com.capstone.goat.domain.Status;
 import com.capstone.goat.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Long> {
@@ -12,4 +16,42 @@ public interface UserRepository extends JpaRepository<User,Long> {
     @Query("select u.nickname from User u where u.id = :id")
     Optional<String> findNicknameById(Long id);
     int countByGroupId(Long groupId);
+
+    @Query("select u from User u where u.group.id in :groupIds")
+    List<User> findAllByGroupIdIn(Collection<Long> groupIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.status = :status where u.id in :ids")
+    int updateStatusByIdIn(Status status, Collection<Long> ids);
+
+    // 그룹 해체 시 그룹원과 초대 중인 유저를 한 번에 그룹에서 제외
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.group = null where u.group.id in :groupIds")
+    int leaveGroupByGroupIdIn(Collection<Long> groupIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.invitedGroup = null where u.invitedGroup.id in :groupIds")
+    int denyInvitedGroupByGroupIdIn(Collection<Long> groupIds);
+
+    // 게임 참가자의 닉네임과 경기장 투표 여부
+    @Query("select u.nickname as nickname, u.isVoted as isVoted from User u " +
+            "where u.id in (select t.userId from Teammate t where t.game.id = :gameId)")
+    List<VoterView> findVotersByGameId(Long gameId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.isVoted = true where u.nickname in :nicknames")
+    int voteByNicknameIn(Collection<String> nicknames);
+
+    @Query("select u.group.id as groupId, count(u) as userCount from User u where u.group.id in :groupIds group by u.group.id")
+    List<GroupSizeView> countByGroupIdIn(Collection<Long> groupIds);
+
+    interface GroupSizeView {
+        Long getGroupId();
+        Long getUserCount();
+    }
+
+    interface VoterView {
+        String getNickname();
+        Boolean getIsVoted();
+    }
 }
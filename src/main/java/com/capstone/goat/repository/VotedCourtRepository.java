@@ -3,6 +3,8 @@ package com.capstone.goat.repository;
 import com.capstone.goat.domain.Game;
 import com.capstone.goat.domain.VotedCourt;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,8 @@ public interface VotedCourtRepository extends JpaRepository<VotedCourt,Long> {
     List<VotedCourt> findAllByGameId(Long gameId);
     Optional<VotedCourt> findByCourtAndGameId(String court,Long gameId);
     boolean existsByCourtAndGameId(String court, Long gameId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update VotedCourt v set v.count = v.count + :count where v.game.id = :gameId and v.court = :court")
+    int addCountByCourtAndGameId(String court, Long gameId, int count);
 }
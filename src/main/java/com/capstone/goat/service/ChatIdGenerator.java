@@ -0,0 +1,57 @@
+package com.capstone.goat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * DB를 거치지 않고 채팅 id를 생성하는 시간 기반 id 생성기
+ * <p>
+ * 41비트 타임스탬프(ms) + 10비트 노드 id + 12비트 시퀀스로 구성하여, 서버가 여러 대여도 노드 id만 다르면 겹치지 않고
+ * 같은 노드에서는 시간 순으로 증가한다.
+ */
+@Component
+public class ChatIdGenerator {
+
+    private static final long EPOCH = 1704067200000L;  // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    @Value("${chat.node-id:0}")
+    private long nodeId;
+
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    @PostConstruct
+    protected void init() {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("chat.node-id는 0 이상 " + MAX_NODE_ID + " 이하여야 합니다.");
+        }
+    }
+
+    public synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+        if (timestamp < lastTimestamp) {
+            timestamp = lastTimestamp;  // 시계가 뒤로 가면 마지막 시각을 계속 사용
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 ms의 시퀀스를 모두 사용하면 다음 ms까지 대기
+                while (timestamp <= lastTimestamp) {
+                    timestamp = Math.max(System.currentTimeMillis(), lastTimestamp + 1);
+                }
+            }
+        } else {
+            sequence = 0L;
+        }
+        lastTimestamp = timestamp;
+
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
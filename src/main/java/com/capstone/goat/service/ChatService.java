@@ -3,26 +3,73 @@ package com.capstone.goat.service;
 import com.capstone.goat.domain.Chat;
 import com.capstone.goat.dto.request.ChatDto;
 import com.capstone.goat.dto.response.ChatResponseDto;
+import com.capstone.goat.dto.response.SliceResponseDto;
 import com.capstone.goat.repository.ChatRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class ChatService {
     private final ChatRepository chatRepository;
-    @Transactional
+    private final ChatIdGenerator chatIdGenerator;
+    private final ChatWriteBuffer chatWriteBuffer;
+    private final ChatTailCache chatTailCache;
+
+    // 채팅은 바로 응답하여 브로드캐스트하고, DB 저장은 ChatWriteBuffer에서 batch로 수행
     public ChatResponseDto saveChat(Long gameId, ChatDto chatDto){
-        Chat chat = chatRepository.save(Chat.builder().gameId(gameId).comment(chatDto.getComment()).userNickname(chatDto.getUserNickname()).build());
+        Chat chat = Chat.builder()
+                .id(chatIdGenerator.nextId())
+                .time(LocalDateTime.now())
+                .gameId(gameId)
+                .comment(chatDto.getComment())
+                .userNickname(chatDto.getUserNickname())
+                .build();
+        chatWriteBuffer.append(chat);
+        chatTailCache.append(chat);
         return ChatResponseDto.of(chat);
     }
 
+    /**
+     * 채팅 기록을 최신순으로 before 이전부터 size개 조회, 첫 페이지는 최근 채팅 캐시에서 응답
+     *
+     * @param gameId - 게임 id.
+     * @param before - 이전 페이지의 nextCursor, 첫 페이지면 null.
+     * @param size   - 페이지 크기.
+     */
     @Transactional(readOnly = true)
-    public List<ChatResponseDto> getChatList(Long gameId){
-        return chatRepository.findAllByGameId(gameId).stream().map(ChatResponseDto::of).collect(Collectors.toList());
+    public SliceResponseDto<ChatResponseDto> getChatList(Long gameId, Long before, int size){
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<ChatResponseDto> rows = before == null
+                ? chatTailCache.findLatest(gameId, size).orElseGet(() -> findChats(gameId, null, size + 1))
+                : findChats(gameId, before, size + 1);
+
+        return SliceResponseDto.of(rows, size, ChatResponseDto::getId, Function.identity());
+    }
+
+    // 아직 저장되지 않은 채팅도 포함하여 id 내림차순으로 limit개 조회
+    private List<ChatResponseDto> findChats(Long gameId, Long before, int limit){
+
+        // 저장 전 채팅을 먼저 읽어야 그 사이 저장이 끝난 채팅이 DB 조회에 포함됨
+        List<Chat> pending = chatWriteBuffer.findPendingByGameId(gameId);
+        List<Chat> stored = chatRepository.findByGameIdBefore(gameId, before, PageRequest.of(0, limit));
+
+        NavigableMap<Long, Chat> chatMap = new TreeMap<>(Collections.reverseOrder());
+        stored.forEach(chat -> chatMap.put(chat.getId(), chat));
+        pending.stream()
+                .filter(chat -> before == null || chat.getId() < before)
+                .forEach(chat -> chatMap.putIfAbsent(chat.getId(), chat));
+
+        return chatMap.values().stream().limit(limit).map(ChatResponseDto::of).toList();
     }
 }
@@ -0,0 +1,123 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.config.WebSocketConfig;
+import com.capstone.goat.domain.Chat;
+import com.capstone.goat.dto.response.ChatResponseDto;
+import com.capstone.goat.repository.ChatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게임 채팅방별 최근 채팅을 메모리에 보관하여 채팅방 입장 시 DB 조회 없이 응답
+ * <p>
+ * 채팅방을 처음 조회할 때 한 번만 DB에서 최근 TAIL_SIZE개를 불러오고, 이후 채팅은 저장 시 바로 추가한다.
+ * 매칭 직후 여러 명이 동시에 입장해도 채팅방별로 잠그므로 DB 조회는 한 번만 일어난다.
+ * 외부 브로커를 쓰는 relay 모드에서는 다른 서버로 보낸 채팅을 알 수 없으므로 사용하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatTailCache {
+
+    public static final int TAIL_SIZE = 50;
+    private static final long IDLE_TIMEOUT = 30L * 60 * 1000;   // 이 시간 동안 조회나 채팅이 없으면 메모리에서 제거
+
+    private final ChatRepository chatRepository;
+    private final ChatWriteBuffer chatWriteBuffer;
+
+    @Value("${websocket.broker.mode:" + WebSocketConfig.BROKER_MODE_SIMPLE + "}")
+    private String brokerMode;
+
+    private final Map<Long, RoomTail> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * 최근 채팅을 id 내림차순으로 최대 size + 1개 반환
+     *
+     * @param gameId - 게임 id.
+     * @param size   - 페이지 크기.
+     * @return 보관 중인 채팅으로 한 페이지를 만들 수 없으면 빈 Optional
+     */
+    public Optional<List<ChatResponseDto>> findLatest(Long gameId, int size) {
+
+        if (!isEnabled()) return Optional.empty();
+
+        RoomTail tail = rooms.computeIfAbsent(gameId, key -> new RoomTail());
+        synchronized (tail) {
+            if (!tail.loaded) {
+                load(gameId, tail);
+            }
+            tail.lastAccessTime = System.currentTimeMillis();
+
+            // 다음 페이지 존재 여부를 알 수 있을 만큼 보관 중이거나 채팅방의 모든 채팅을 보관 중일 때만 응답
+            if (tail.chats.size() <= size && !tail.complete) {
+                return Optional.empty();
+            }
+            List<ChatResponseDto> rows = new ArrayList<>(size + 1);
+            for (ChatResponseDto chat : tail.chats.descendingMap().values()) {
+                if (rows.size() > size) break;
+                rows.add(chat);
+            }
+            return Optional.of(rows);
+        }
+    }
+
+    // 조회된 적 있는 채팅방에만 추가, 처음 조회할 때는 ChatWriteBuffer의 저장 전 채팅까지 불러옴
+    public void append(Chat chat) {
+
+        RoomTail tail = rooms.get(chat.getGameId());
+        if (tail == null) return;
+
+        synchronized (tail) {
+            tail.put(ChatResponseDto.of(chat));
+            tail.lastAccessTime = System.currentTimeMillis();
+        }
+    }
+
+    @Scheduled(fixedRate = 60L * 1000)
+    public void evictIdleRooms() {
+        long cutoff = System.currentTimeMillis() - IDLE_TIMEOUT;
+        rooms.values().removeIf(tail -> tail.lastAccessTime < cutoff);
+    }
+
+    private boolean isEnabled() {
+        return WebSocketConfig.BROKER_MODE_SIMPLE.equals(brokerMode);
+    }
+
+    private void load(Long gameId, RoomTail tail) {
+
+        // 저장 전 채팅을 먼저 읽어야 그 사이 저장이 끝난 채팅이 DB 조회에 포함됨
+        List<Chat> pending = chatWriteBuffer.findPendingByGameId(gameId);
+        List<Chat> stored = chatRepository.findByGameIdBefore(gameId, null, PageRequest.of(0, TAIL_SIZE + 1));
+
+        tail.complete = stored.size() <= TAIL_SIZE;
+        stored.forEach(chat -> tail.put(ChatResponseDto.of(chat)));
+        pending.forEach(chat -> tail.put(ChatResponseDto.of(chat)));
+        tail.loaded = true;
+    }
+
+    private static class RoomTail {
+
+        private final NavigableMap<Long, ChatResponseDto> chats = new TreeMap<>();
+        private boolean loaded;
+        private boolean complete;   // 채팅방의 모든 채팅을 보관 중인지 여부
+        private volatile long lastAccessTime = System.currentTimeMillis();
+
+        private void put(ChatResponseDto chat) {
+            chats.put(chat.getId(), chat);
+            if (chats.size() > TAIL_SIZE) {
+                chats.pollFirstEntry();
+                complete = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.Chat;
+import com.capstone.goat.repository.ChatJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅을 버퍼에 모아 전용 스레드에서 JDBC batch로 저장하는 write-behind 버퍼
+ * <p>
+ * BATCH_SIZE개가 모이거나 첫 채팅이 들어온 뒤 FLUSH_INTERVAL_MS가 지나면 저장하며, 종료 시에는 남은 채팅을 모두 저장한 뒤 멈춘다.
+ * <p>
+ * 저장에 실패하면 시도 사이에 대기 시간을 두 배씩 늘려 다시 시도하고, 그래도 실패한 batch는 REQUEUE_DELAY_MS 뒤에 다시 저장하도록
+ * 최대 MAX_FAILED_CHATS개까지 보관한다. 다시 저장할 때까지 저장 전 조회에 계속 포함된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatWriteBuffer {
+
+    private static final int BATCH_SIZE = 200;
+    private static final long FLUSH_INTERVAL_MS = 200;
+    private static final int MAX_ATTEMPTS = 3;                 // 한 번 저장할 때의 시도 횟수
+    private static final long BACKOFF_MS = 100;                // 시도 사이 대기 시간, 시도마다 2배
+    private static final int MAX_REQUEUE = 5;                  // 저장에 실패한 batch를 다시 저장하는 최대 횟수
+    private static final long REQUEUE_DELAY_MS = 5_000;        // 저장에 실패한 batch를 다시 저장하기까지의 대기 시간
+    private static final int MAX_FAILED_CHATS = 10_000;        // 다시 저장하려고 보관하는 최대 채팅 수
+
+    private final ChatJdbcRepository chatJdbcRepository;
+
+    private final BlockingQueue<Chat> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, Chat> unsaved = new ConcurrentHashMap<>();   // 저장이 끝나지 않은 채팅, 저장 전 조회 시 함께 반환
+    private volatile boolean running = true;
+    private Thread writer;
+
+    // 저장에 실패하여 다시 저장할 batch, writer 스레드에서만 접근
+    private final Deque<FailedBatch> failedBatches = new ArrayDeque<>();
+    private int failedChatCount;
+
+    private record FailedBatch(List<Chat> chats, int requeueCount, long retryTime) {
+    }
+
+    @PostConstruct
+    protected void start() {
+        writer = new Thread(this::run, "ChatWriter");
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (!unsaved.isEmpty()) {
+            log.error("[로그] 종료 시 저장하지 못한 채팅 수 = {}", unsaved.size());
+        }
+    }
+
+    public void append(Chat chat) {
+        unsaved.put(chat.getId(), chat);
+        queue.add(chat);
+    }
+
+    // 아직 DB에 저장되지 않은 게임의 채팅, 저장이 끝난 뒤에 제거되므로 이 조회 후 DB를 조회하면 빠지는 채팅이 없음
+    public List<Chat> findPendingByGameId(Long gameId) {
+        List<Chat> pending = new ArrayList<>();
+        for (Chat chat : unsaved.values()) {
+            if (gameId.equals(chat.getGameId())) pending.add(chat);
+        }
+        return pending;
+    }
+
+    private void run() {
+        List<Chat> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                retryFailedBatch();
+
+                Chat first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 채팅 이후 FLUSH_INTERVAL_MS 동안 BATCH_SIZE까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS);
+                while (batch.size() < BATCH_SIZE && running) {
+                    Chat chat = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (chat == null) break;
+                    batch.add(chat);
+                }
+                queue.drainTo(batch, BATCH_SIZE - batch.size());
+
+                write(new ArrayList<>(batch), 0);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // 종료 시 다시 저장하려고 보관한 batch는 기다리지 않고 마지막으로 한 번 더 시도
+        for (FailedBatch failed; (failed = failedBatches.poll()) != null; ) {
+            write(failed.chats(), MAX_REQUEUE);
+        }
+    }
+
+    // 다시 저장할 시간이 된 batch가 있으면 저장
+    private void retryFailedBatch() {
+        FailedBatch failed = failedBatches.peek();
+        if (failed == null || failed.retryTime() > System.currentTimeMillis()) return;
+
+        failedBatches.poll();
+        failedChatCount -= failed.chats().size();
+        write(failed.chats(), failed.requeueCount());
+    }
+
+    // 저장에 실패하면 다시 저장할 횟수와 보관 한도가 남아 있을 때 보관하고, 아니면 버림
+    private void write(List<Chat> chats, int requeueCount) {
+        if (save(chats)) {
+            release(chats);
+            return;
+        }
+
+        if (requeueCount < MAX_REQUEUE && failedChatCount + chats.size() <= MAX_FAILED_CHATS) {
+            failedBatches.add(new FailedBatch(chats, requeueCount + 1, System.currentTimeMillis() + REQUEUE_DELAY_MS));
+            failedChatCount += chats.size();
+            log.warn("[로그] 채팅 저장 실패로 다시 저장 대기, 채팅 수 = {}, 대기 중인 채팅 수 = {}", chats.size(), failedChatCount);
+        } else {
+            log.error("[로그] 채팅 저장 재시도 초과로 버림, 채팅 수 = {}", chats.size());
+            release(chats);
+        }
+    }
+
+    // 시도 사이에 대기 시간을 두 배씩 늘리며 저장, 모든 시도가 실패하면 false
+    private boolean save(List<Chat> chats) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                chatJdbcRepository.saveAll(chats);
+                return true;
+            } catch (RuntimeException exception) {
+                log.error("[로그] 채팅 저장 실패, 시도 = {}, 채팅 수 = {}", attempt, chats.size(), exception);
+            }
+            if (attempt < MAX_ATTEMPTS && !sleep(BACKOFF_MS << (attempt - 1))) break;
+        }
+        return false;
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return false;
+        }
+    }
+
+    private void release(List<Chat> chats) {
+        chats.forEach(chat -> unsaved.remove(chat.getId()));
+    }
+}
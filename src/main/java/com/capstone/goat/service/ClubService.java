@@ -31,14 +31,15 @@ public class ClubService {
 
     @Transactional
     public Long createClub(User user, ClubSaveDto clubSaveDto){
-        if(user.getClub()!=null){
+        // 인증 정보는 캐시된 값일 수 있으므로 DB에서 조회한 유저로 확인
+        User master = userRepository.findById(user.getId()).orElseThrow(()-> new CustomException(CustomErrorCode.USER_NOT_FOUND));
+        if(master.getClub()!=null){
             throw new CustomException(CustomErrorCode.HAS_CLUB);
         }
         if(clubRepository.existsByName(clubSaveDto.getName())){
             throw new CustomException(CustomErrorCode.DUPLICATE_CLUB_NAME);
         }
         Club club = clubRepository.save(Club.builder().name(clubSaveDto.getName()).master_id(user.getId()).sport(clubSaveDto.getSport()).build());
-        User master = userRepository.findById(user.getId()).get();
         master.joinClub(club);
         return club.getId();
     }
@@ -0,0 +1,266 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.config.WebSocketConfig;
+import com.capstone.goat.domain.Game;
+import com.capstone.goat.dto.response.VoteTotalResponseDto;
+import com.capstone.goat.dto.response.VotedCourtResponseDto;
+import com.capstone.goat.exception.ex.CustomErrorCode;
+import com.capstone.goat.exception.ex.CustomException;
+import com.capstone.goat.repository.GameRepository;
+import com.capstone.goat.repository.UserRepository;
+import com.capstone.goat.repository.VotedCourtRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게임별 경기장 투표를 메모리에서 집계하고 주기적으로 VotedCourt에 반영
+ * <p>
+ * 투표는 경기장별 원자적 카운터와 투표자 집합으로 처리하여 동시 투표가 유실되지 않으며, 투표 결과 응답도 DB를 다시 읽지 않고
+ * 메모리 집계로 만든다. 모든 참가자가 투표하거나 투표를 종료하면 남은 변화량을 반영한 뒤 경기장을 확정한다.
+ * <p>
+ * 한 집계의 반영은 한 번에 하나씩만 진행되므로 투표 종료는 진행 중인 반영이 끝난 뒤의 투표 현황으로 경기장을 확정한다.
+ * 종료되거나 메모리에서 제거된 집계에는 closed 표시를 하며, 그 뒤에 들어온 투표는 새 집계를 불러와 다시 처리한다.
+ * <p>
+ * 외부 브로커를 쓰는 relay 모드에서는 같은 게임의 투표가 여러 서버로 나뉘어 들어오므로 서버별 메모리 집계를 쓰지 않고,
+ * GameService가 게임 행을 잠가 투표마다 DB에 바로 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourtVoteTally {
+
+    private static final long IDLE_TIMEOUT = 30L * 60 * 1000;   // 이 시간 동안 투표가 없으면 메모리에서 제거
+
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+    private final VotedCourtRepository votedCourtRepository;
+    private final UserRepository userRepository;
+
+    @Value("${websocket.broker.mode:" + WebSocketConfig.BROKER_MODE_SIMPLE + "}")
+    private String brokerMode;
+
+    private final Map<Long, GameTally> tallies = new ConcurrentHashMap<>();
+
+    /**
+     * @return 투표 후 집계 결과, 이미 투표한 유저이면 빈 Optional
+     */
+    public Optional<VoteTotalResponseDto> vote(Long gameId, String court, String userNickname) {
+
+        if (!isEnabled()) return gameService.voteCourt(gameId, court, userNickname);
+
+        while (true) {
+            GameTally tally = getTally(gameId);
+            boolean closed;
+            Optional<VoteTotalResponseDto> voteTotal = Optional.empty();
+
+            tally.lock.readLock().lock();
+            try {
+                closed = tally.closed;
+                if (!closed) {
+                    voteTotal = record(tally, court, userNickname);
+                }
+            } finally {
+                tally.lock.readLock().unlock();
+            }
+
+            // 종료된 집계이면 남은 반영이 끝나기를 기다린 뒤 DB에서 새 집계를 불러와 다시 시도
+            // 종료하는 쪽이 flushLock을 잡은 채 쓰기 락을 기다리므로 읽기 락을 놓은 뒤에 대기
+            if (closed) {
+                synchronized (tally.flushLock) {
+                    tallies.remove(gameId, tally);
+                }
+                continue;
+            }
+
+            if (voteTotal.isPresent() && voteTotal.get().getNotVotedCount() == 0) {
+                close(gameId);
+            }
+            return voteTotal;
+        }
+    }
+
+    // 집계에 투표를 기록하고 집계 결과를 반환, 이미 투표한 유저이면 빈 Optional
+    private Optional<VoteTotalResponseDto> record(GameTally tally, String court, String userNickname) {
+
+        if (!tally.participants.contains(userNickname)) {
+            throw new CustomException(CustomErrorCode.USER_NOT_FOUND);
+        }
+        if (!tally.voters.add(userNickname)) {
+            return Optional.empty();
+        }
+
+        tally.counterOf(court).incrementAndGet();
+        tally.pendingCounts.computeIfAbsent(court, key -> new AtomicInteger()).incrementAndGet();
+        tally.pendingVoters.add(userNickname);
+        tally.lastAccessTime = System.currentTimeMillis();
+
+        return Optional.of(tally.toDto());
+    }
+
+    public VoteTotalResponseDto getVoteMessage(Long gameId) {
+
+        if (!isEnabled()) return gameService.getVoteTotal(gameId);
+
+        return getTally(gameId).toDto();
+    }
+
+    // 남은 투표를 반영하고 가장 많이 투표된 경기장으로 확정
+    public void close(Long gameId) {
+
+        GameTally tally = tallies.remove(gameId);
+        if (tally != null) {
+            // 다른 스레드에서 반영 중이면 끝날 때까지 대기
+            synchronized (tally.flushLock) {
+                tally.close();
+                flushLocked(gameId, tally);
+            }
+        }
+        gameService.determineCourt(gameId);
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void flushAll() {
+
+        long idleCutoff = System.currentTimeMillis() - IDLE_TIMEOUT;
+        tallies.forEach((gameId, tally) -> {
+            if (tally.lastAccessTime >= idleCutoff) {
+                flush(gameId, tally);
+                return;
+            }
+
+            // 제거 전에 반영을 마쳐야 동시에 투표를 종료해도 반영되지 않은 투표로 경기장을 확정하지 않음
+            synchronized (tally.flushLock) {
+                tally.close();
+                flushLocked(gameId, tally);
+                tallies.remove(gameId, tally);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAll();
+    }
+
+    private void flush(Long gameId, GameTally tally) {
+        synchronized (tally.flushLock) {
+            flushLocked(gameId, tally);
+        }
+    }
+
+    private void flushLocked(Long gameId, GameTally tally) {
+
+        Map<String, Integer> courtCounts = new HashMap<>();
+        tally.pendingCounts.forEach((court, counter) -> {
+            int count = counter.getAndSet(0);
+            if (count > 0) courtCounts.put(court, count);
+        });
+        List<String> voterNicknames = new ArrayList<>();
+        for (String nickname; (nickname = tally.pendingVoters.poll()) != null; ) {
+            voterNicknames.add(nickname);
+        }
+        if (courtCounts.isEmpty() && voterNicknames.isEmpty()) return;
+
+        try {
+            gameService.applyVotes(gameId, courtCounts, voterNicknames);
+        } catch (RuntimeException exception) {
+            // 반영에 실패한 변화량은 다음 주기에 다시 시도
+            log.error("[로그] 경기장 투표 반영 실패, gameId = {}", gameId, exception);
+            courtCounts.forEach((court, count) -> tally.pendingCounts.get(court).addAndGet(count));
+            tally.pendingVoters.addAll(voterNicknames);
+        }
+    }
+
+    // relay 모드이면 메모리 집계를 사용하지 않음
+    private boolean isEnabled() {
+        return !WebSocketConfig.BROKER_MODE_RELAY.equals(brokerMode);
+    }
+
+    private GameTally getTally(Long gameId) {
+        return tallies.computeIfAbsent(gameId, this::load);
+    }
+
+    // DB에 반영된 투표 현황으로 집계 초기화
+    private GameTally load(Long gameId) {
+
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new CustomException(CustomErrorCode.GAME_NOT_FOUND));
+        GameTally tally = new GameTally(game.getSport().getPlayer() * 2);
+
+        votedCourtRepository.findAllByGameId(gameId).forEach(votedCourt ->
+                tally.counterOf(votedCourt.getCourt()).set(votedCourt.getCount())
+        );
+        userRepository.findVotersByGameId(gameId).forEach(voter -> {
+            tally.participants.add(voter.getNickname());
+            if (Boolean.TRUE.equals(voter.getIsVoted())) {
+                tally.voters.add(voter.getNickname());
+            }
+        });
+        return tally;
+    }
+
+    private static class GameTally {
+
+        private final int totalVoterCount;
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        private final List<String> courtOrder = new CopyOnWriteArrayList<>();    // 처음 투표된 순서
+        private final Set<String> participants = ConcurrentHashMap.newKeySet();
+        private final Set<String> voters = ConcurrentHashMap.newKeySet();
+
+        // 아직 DB에 반영되지 않은 변화량
+        private final Map<String, AtomicInteger> pendingCounts = new ConcurrentHashMap<>();
+        private final Queue<String> pendingVoters = new ConcurrentLinkedQueue<>();
+
+        private volatile long lastAccessTime = System.currentTimeMillis();
+
+        // 투표 기록은 읽기 락, 종료 표시는 쓰기 락으로 잡아 종료 후에 기록되는 투표가 없도록 함
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Object flushLock = new Object();  // 변화량 반영을 한 번에 하나씩만 진행
+        private volatile boolean closed;    // flushLock을 잡은 채로만 설정하므로, 종료를 본 뒤 flushLock을 잡으면 남은 반영이 끝나 있음
+
+        private GameTally(int totalVoterCount) {
+            this.totalVoterCount = totalVoterCount;
+        }
+
+        private void close() {
+            lock.writeLock().lock();
+            try {
+                closed = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private AtomicInteger counterOf(String court) {
+            return counts.computeIfAbsent(court, key -> {
+                courtOrder.add(key);
+                return new AtomicInteger();
+            });
+        }
+
+        private VoteTotalResponseDto toDto() {
+            int voteCount = 0;
+            List<VotedCourtResponseDto> list = new ArrayList<>();
+            for (String court : courtOrder) {
+                AtomicInteger counter = counts.get(court);
+                if (counter == null) continue;  // 아직 추가 중인 경기장
+                int count = counter.get();
+                voteCount += count;
+                list.add(VotedCourtResponseDto.of(court, count));
+            }
+            return VoteTotalResponseDto.of(list, totalVoterCount - voteCount);
+        }
+    }
+}
@@ -8,11 +8,13 @@ import com.capstone.goat.exception.ex.CustomException;
 import com.capstone.goat.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -31,34 +33,25 @@ public class GameService {
 
     private GamePlayingResponseDto toGamePlayingDto(Game game) {
 
-        List<Teammate> team1 = teammateRepository.findAllByGameIdAndTeamNumber(game.getId(), 1);
-        List<Teammate> team2 = teammateRepository.findAllByGameIdAndTeamNumber(game.getId(), 2);
-
-        List<UserInfoDto> team1UserInfoList = getUserInfoDtoList(team1, game.getSport());
-        List<UserInfoDto> team2UserInfoList = getUserInfoDtoList(team2, game.getSport());
+        List<UserInfoDto> team1UserInfoList = new ArrayList<>();
+        List<UserInfoDto> team2UserInfoList = new ArrayList<>();
+        teammateRepository.findRosterByGameId(game.getId(), game.getSport()).forEach(roster -> {
+            UserInfoDto userInfoDto = toUserInfoDto(roster);
+            if (roster.getTeamNumber() == 1) {
+                team1UserInfoList.add(userInfoDto);
+            } else {
+                team2UserInfoList.add(userInfoDto);
+            }
+        });
 
         return GamePlayingResponseDto.of(game, game.getPreferCourts(), team1UserInfoList, team2UserInfoList);
     }
 
-    private List<UserInfoDto> getUserInfoDtoList(List<Teammate> teammates, Sport sport) {
+    private UserInfoDto toUserInfoDto(TeammateRepository.RosterView roster) {
         // 탈퇴한 유저는 닉네임을 "탈퇴한 유저", rating 점수를 0으로 설정
-        return teammates.stream()
-                .map(teammate -> {
-                    String userNickname;
-                    int ratingScore;
-                    Optional<User> userOptional = userRepository.findById(teammate.getUserId());
-                    if (userOptional.isEmpty()) {
-                        userNickname = "탈퇴한_유저";
-                        ratingScore = 0;
-                    } else {
-                        User user = userOptional.get();
-                        userNickname = user.getNickname();
-                        Rating rating = user.getRatings().get(sport);
-                        ratingScore = rating != null ? rating.getRatingScore() : 0;
-                    }
-                    return UserInfoDto.of(teammate.getUserId(), userNickname, ratingScore);
-                })
-                .toList();
+        String userNickname = Optional.ofNullable(roster.getNickname()).orElse("탈퇴한_유저");
+        int ratingScore = Optional.ofNullable(roster.getRatingScore()).orElse(0);
+        return UserInfoDto.of(roster.getUserId(), userNickname, ratingScore);
     }
 
     private GameFinishedResponseDto toGameFinishedDto(Game game, Integer result) {
@@ -76,20 +69,23 @@ public class GameService {
 
         Teammate userTeammate = teammateRepository.findFirstByUserIdOrderByIdDesc(user.getId())
                 .orElseThrow(() -> new CustomException(CustomErrorCode.TEAMMATE_NOT_FOUND));
-        Game game = userTeammate.getGame();
+        Game game = gameRepository.findWithPreferCourtsById(userTeammate.getGame().getId())
+                .orElseThrow(() -> new CustomException(CustomErrorCode.GAME_NOT_FOUND));
 
         return toGamePlayingDto(game);
     }
 
-    public List<GameFinishedResponseDto> getFinishedGameList(long userId) {
+    public SliceResponseDto<GameFinishedResponseDto> getFinishedGameList(long userId, Integer cursor, int size) {
 
-        User user = userRepository.getReferenceById(userId);
-        List<Teammate> teammateList = teammateRepository.findAllByUserIdOrderByIdDesc(user.getId());
+        // 종료된 Game만 -> 경기장 확정된 게임까지는 포함, 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<Teammate> teammateList = teammateRepository.findFinishedByUserId(userId, cursor, PageRequest.of(0, size + 1));
 
-        return teammateList.stream()
-                .filter(teammate -> teammate.getGame().getCourt() != null)    // 종료된 Game만 -> 경기장 확정된 게임까지는 포함
-                .map(teammate -> toGameFinishedDto(teammate.getGame(), teammate.getResult()))    // GameResponseDto 로 변환
-                .toList();
+        return SliceResponseDto.of(
+                teammateList,
+                size,
+                teammate -> teammate.getId().longValue(),
+                teammate -> toGameFinishedDto(teammate.getGame(), teammate.getResult())    // GameResponseDto 로 변환
+        );
     }
 
     public List<TeammateResponseDto> getFinishedGameTeammates(long gameId) {
@@ -170,40 +166,67 @@ public class GameService {
         rating.updateRating(result, feedback);
     }
 
+    // 메모리에 집계된 투표 변화량을 VotedCourt와 User에 반영
     @Transactional
-    public boolean voteCourt(Long gameId, String court,String userNickname){
-        Game game = getGame(gameId);
-        User user = getUser(userNickname);
-        if(user.getIsVoted()){
-            return false;
-        }
-        else {
-            if (votedCourtRepository.existsByCourtAndGameId(court,gameId)) {
-                VotedCourt votedCourt = votedCourtRepository.findByCourtAndGameId(court,gameId).get();
-                votedCourt.upCount();
-            } else {
-                votedCourtRepository.save(VotedCourt.builder().court(court).game(game).build());
+    public void applyVotes(Long gameId, Map<String, Integer> courtCounts, List<String> voterNicknames) {
+
+        courtCounts.forEach((court, count) -> {
+            if (votedCourtRepository.addCountByCourtAndGameId(court, gameId, count) == 0) {
+                VotedCourt votedCourt = VotedCourt.builder().court(court).game(gameRepository.getReferenceById(gameId)).build();
+                votedCourt.addCount(count);
+                votedCourtRepository.save(votedCourt);
             }
+        });
 
-            user.vote();
-            return true;
+        if (!voterNicknames.isEmpty()) {
+            userRepository.voteByNicknameIn(voterNicknames);
         }
     }
 
+    /**
+     * relay 모드에서 메모리 집계 대신 사용, 게임 행을 잠가 여러 서버에 나뉘어 들어온 투표를 차례로 DB에 반영
+     * 모든 참가자가 투표하면 같은 트랜잭션에서 경기장을 확정
+     *
+     * @return 투표 후 집계 결과, 이미 투표한 유저이면 빈 Optional
+     */
     @Transactional
-    public VoteTotalResponseDto getVoteMessage(Long gameId){
-        Game game = getGame(gameId);
-        List<VotedCourt> courts = votedCourtRepository.findAllByGameId(gameId);
-        int voteCount = 0;
-        List<VotedCourtResponseDto> list = new ArrayList<>();
-        for(VotedCourt court : courts){
-            voteCount += court.getCount();
-            list.add(VotedCourtResponseDto.of(court));
+    public Optional<VoteTotalResponseDto> voteCourt(Long gameId, String court, String userNickname) {
+
+        Game game = gameRepository.findForUpdateById(gameId)
+                .orElseThrow(() -> new CustomException(CustomErrorCode.GAME_NOT_FOUND));
+        int totalVoterCount = game.getSport().getPlayer() * 2;
+
+        UserRepository.VoterView voter = userRepository.findVotersByGameId(gameId).stream()
+                .filter(view -> Objects.equals(view.getNickname(), userNickname))
+                .findFirst()
+                .orElseThrow(() -> new CustomException(CustomErrorCode.USER_NOT_FOUND));
+        if (Boolean.TRUE.equals(voter.getIsVoted())) {
+            return Optional.empty();
         }
-        if(voteCount==game.getSport().getPlayer()*2){
+
+        applyVotes(gameId, Map.of(court, 1), List.of(userNickname));
+
+        VoteTotalResponseDto voteTotal = toVoteTotalDto(gameId, totalVoterCount);
+        if (voteTotal.getNotVotedCount() == 0) {
             determineCourt(gameId);
         }
-         return VoteTotalResponseDto.of(list,game.getSport().getPlayer()*2-voteCount);
+        return Optional.of(voteTotal);
+    }
+
+    // relay 모드에서 DB에 반영된 투표 현황으로 집계 결과 조회
+    public VoteTotalResponseDto getVoteTotal(Long gameId) {
+        return toVoteTotalDto(gameId, getGame(gameId).getSport().getPlayer() * 2);
+    }
+
+    private VoteTotalResponseDto toVoteTotalDto(Long gameId, int totalVoterCount) {
+
+        int voteCount = 0;
+        List<VotedCourtResponseDto> list = new ArrayList<>();
+        for (VotedCourt votedCourt : votedCourtRepository.findAllByGameId(gameId)) {
+            voteCount += votedCourt.getCount();
+            list.add(VotedCourtResponseDto.of(votedCourt));
+        }
+        return VoteTotalResponseDto.of(list, totalVoterCount - voteCount);
     }
 
     @Transactional
@@ -235,9 +258,4 @@ public class GameService {
                 .orElseThrow(() -> new CustomException(CustomErrorCode.USER_NOT_FOUND));
     }
 
-    private User getUser(String userNickname) {
-        return userRepository.findByNickname(userNickname)
-                .orElseThrow(() -> new CustomException(CustomErrorCode.USER_NOT_FOUND));
-    }
-
 }
@@ -0,0 +1,136 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.NotificationType;
+import com.capstone.goat.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유효 시간이 남은 그룹 초대를 초대한 유저와 초대 받은 유저 기준으로 메모리에 보관하는 인덱스
+ * <p>
+ * 초대는 만료 시각의 초 단위로 타임 휠의 칸에 넣고, 매 초 지난 칸의 초대만 제거하므로 알림 테이블 크기와 관계없이
+ * 초대 중/초대 받는 중 여부를 바로 확인할 수 있다. 서버 시작 시 유효 시간 안에 보낸 초대 알림을 불러온다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupInviteIndex {
+
+    public static final long INVITE_TIMEOUT_SECONDS = 30;  // 그룹 초대 유효 시간
+    private static final int WHEEL_SIZE = 64;   // INVITE_TIMEOUT_SECONDS보다 커야 한 바퀴 안에 만료됨
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, Invite> invitesByReceiver = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> inviteCountBySender = new ConcurrentHashMap<>();
+    private final List<List<Invite>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private Clock clock = Clock.systemDefaultZone();
+    private long lastTickSecond = clock.millis() / 1000;
+
+    private record Invite(long senderId, long receiverId, long expireAt) {
+    }
+
+    @PostConstruct
+    protected void init() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+
+        LocalDateTime since = LocalDateTime.now(clock).minusSeconds(INVITE_TIMEOUT_SECONDS);
+        notificationRepository.findInvitesByTypeAndSendTimeAfter(NotificationType.GROUP_INVITE, since).forEach(invite -> {
+            long sendTime = invite.getSendTime().atZone(clock.getZone()).toInstant().toEpochMilli();
+            add(new Invite(invite.getSenderId(), invite.getReceiverId(), sendTime + INVITE_TIMEOUT_SECONDS * 1000));
+        });
+    }
+
+    // 테스트에서 시간을 조정하기 위해 사용, init 전에 호출해야 함
+    void setClock(Clock clock) {
+        this.clock = clock;
+        this.lastTickSecond = clock.millis() / 1000;
+    }
+
+    // 초대 받는 중인 유저인지 확인
+    public boolean isBeingInvited(long receiverId) {
+        Invite invite = invitesByReceiver.get(receiverId);
+        return invite != null && invite.expireAt() >= clock.millis();
+    }
+
+    // 유효 시간이 남은 초대를 보낸 유저인지 확인, 만료 반영은 최대 1초 늦을 수 있음
+    public boolean isInviting(long senderId) {
+        return inviteCountBySender.containsKey(senderId);
+    }
+
+    // 초대 등록, 트랜잭션 중이면 롤백 시 제거
+    public void register(long senderId, long receiverId) {
+        Invite invite = new Invite(senderId, receiverId, clock.millis() + INVITE_TIMEOUT_SECONDS * 1000);
+        add(invite);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        remove(invite);
+                    }
+                }
+            });
+        }
+    }
+
+    // 초대를 수락하거나 거절하면 제거
+    public synchronized void remove(long senderId, long receiverId) {
+        Invite invite = invitesByReceiver.get(receiverId);
+        if (invite != null && invite.senderId() == senderId) {
+            remove(invite);
+        }
+    }
+
+    // 지난 초의 칸을 비우며 만료된 초대 제거
+    @Scheduled(fixedRate = 1000)
+    public synchronized void tick() {
+        long now = clock.millis();
+        long nowSecond = now / 1000;
+        for (long second = lastTickSecond; second <= nowSecond && second < lastTickSecond + WHEEL_SIZE; second++) {
+            List<Invite> slot = wheel.get(slotOf(second));
+            slot.removeIf(invite -> {
+                if (invite.expireAt() > now) return false;
+                remove(invite);
+                return true;
+            });
+        }
+        lastTickSecond = nowSecond;
+    }
+
+    private synchronized void add(Invite invite) {
+        Invite previous = invitesByReceiver.put(invite.receiverId(), invite);
+        if (previous != null) {
+            decrementSender(previous.senderId());
+        }
+        inviteCountBySender.merge(invite.senderId(), 1, Integer::sum);
+        wheel.get(slotOf(invite.expireAt() / 1000)).add(invite);
+    }
+
+    private synchronized void remove(Invite invite) {
+        if (invitesByReceiver.remove(invite.receiverId(), invite)) {
+            decrementSender(invite.senderId());
+        }
+    }
+
+    private void decrementSender(long senderId) {
+        inviteCountBySender.computeIfPresent(senderId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static int slotOf(long second) {
+        return Math.floorMod(second, WHEEL_SIZE);
+    }
+}
@@ -30,6 +30,7 @@ public class GroupService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
+    private final GroupInviteIndex groupInviteIndex;
 
     @Transactional
     public Group getGroup(long userId, boolean isClubGroup) {  // 사용자에게 그룹이 없으면 생성해서 반환
@@ -90,8 +91,7 @@ public class GroupService {
         }
 
         // 초대 받는 유저가 다른 그룹의 초대를 받는 중이면 예외
-        if (notificationRepository.findSendTimeByReceiverIdAndType(invitee.getId(), NotificationType.GROUP_INVITE).stream()
-                .anyMatch(sendTime -> Duration.between(sendTime, LocalDateTime.now()).getSeconds() <= 30)) {
+        if (groupInviteIndex.isBeingInvited(invitee.getId())) {
             throw new CustomException(CustomErrorCode.USER_BEING_INVITED_GROUP);
         }
 
@@ -118,8 +118,7 @@ public class GroupService {
             if (Status.WAITING == member.getStatus()
                     && member.getGroup() == null
                     && !Objects.equals(member.getId(), user.getId())    // 초대 대상에서 본인은 제외
-                    && notificationRepository.findSendTimeByReceiverIdAndType(member.getId(), NotificationType.GROUP_INVITE).stream()
-                    .noneMatch(sendTime -> Duration.between(sendTime, LocalDateTime.now()).getSeconds() <= 30)
+                    && !groupInviteIndex.isBeingInvited(member.getId())
             ) {
                 log.info("[로그] 클럽원 {} 그룹에 추가", member.getNickname());
                 group.addInvitee(member);
@@ -168,6 +167,7 @@ public class GroupService {
 
         group.excludeInvitee(user); // 초대 목록에서 삭제
         notificationRepository.delete(notification);    // 초대 메시지 삭제
+        groupInviteIndex.remove(notification.getSender().getId(), userId);
 
         return group.getId();
     }
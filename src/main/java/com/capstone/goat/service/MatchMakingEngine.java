@@ -0,0 +1,252 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.MatchMaking;
+import com.capstone.goat.domain.Sport;
+import com.capstone.goat.repository.MatchMakingRepository;
+import com.capstone.goat.repository.MatchingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 대기열의 변화(매칭 시작, 매칭 취소, 검색 범위 확장)에 반응하여 필요한 그룹만 다시 매치메이킹하는 엔진
+ * <p>
+ * 매 분 전체 매칭을 다시 검색하는 대신, 새 그룹이 들어오면 그 그룹과 그 그룹을 검색 범위 안에 두는 기존 그룹만,
+ * 검색 범위나 허용 rating 차이가 넓어지면 새로 포함된 테두리나 rating 구간에 후보가 있는 그룹만 평가하므로 비용이 대기열 크기가 아닌 변화량에 비례한다.
+ * <p>
+ * 평가 요청은 종목 x 지역 파티션으로 묶어 파티션끼리는 matchMakingExecutor에서 병렬로, 같은 파티션 안에서는 차례로 평가한다.
+ * 각 주기는 시간 예산을 넘기면 남은 작업을 다음 주기로 넘기므로 느린 주기가 다음 주기와 겹치지 않는다.
+ * <p>
+ * 서버 시작 시 MatchMakingWarmStarter가 대기열 복구를 마치고 markReady를 호출하기 전에는 주기 작업을 실행하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchMakingEngine {
+
+    private static final int EVALUATION_PAGE_SIZE = 500;
+    private static final long EXPANSION_BUDGET_NANOS = TimeUnit.SECONDS.toNanos(10);  // 검색 범위 확장 주기의 시간 예산
+    private static final long DISPATCH_BUDGET_NANOS = TimeUnit.SECONDS.toNanos(2);    // 매치메이킹 주기의 시간 예산
+    private static final double REGION_SIZE = 0.1;     // 파티션의 지역 크기, 위도/경도 0.1도(약 10km)
+
+    private final MatchMakingRepository matchMakingRepository;
+    private final MatchingRepository matchingRepository;
+    private final MatchMakingService matchMakingService;
+    private final MatchMakingTolerancePolicy matchMakingTolerancePolicy;
+    private final Executor matchMakingExecutor;
+
+    // 평가를 기다리는 그룹 id -> 검색 범위, 같은 그룹에 대한 여러 이벤트는 한 번의 평가로 합침
+    private final Map<Long, Integer> pendingGroups = new ConcurrentHashMap<>();
+
+    // 대기열 복구 완료 여부, 복구 중인 대기열로 평가하면 아직 불러오지 않은 그룹을 대기열에 없는 것으로 처리하므로 그 전에는 주기 작업을 건너뜀
+    private volatile boolean ready;
+
+    // 서버 시작 시 대기열 복구가 끝나면 호출
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * 새 그룹이 매칭 대기열에 추가되었을 때 호출
+     *
+     * @param groupId - 매칭을 시작한 그룹의 아이디.
+     */
+    public void onEnqueued(long groupId) {
+
+        List<MatchMaking> matchMakingList = matchMakingRepository.findByGroupId(groupId);
+        if (matchMakingList.isEmpty()) return;
+
+        log.info("[로그] 매칭 추가 이벤트, groupId = {}", groupId);
+        request(groupId, 0);
+
+        // 새 그룹을 검색 범위 안에 두게 된 기존 그룹도 다시 평가
+        LocalDateTime now = LocalDateTime.now();
+        for (MatchMaking matchMaking : matchMakingList) {
+            for (MatchMaking neighbor : matchMakingRepository.findAllByMatchingAndMatchingRange(matchMaking, matchMakingTolerancePolicy.getMaxMatchingRange())) {
+                int neighborRange = getMatchingRange(neighbor, now);
+                if (neighbor.getGroupId() != groupId && neighbor.getCellDistance(matchMaking) <= neighborRange) {
+                    request(neighbor.getGroupId(), neighborRange);
+                }
+            }
+        }
+    }
+
+    /**
+     * 서버 시작 시 대기열에 복구된 그룹을 현재 검색 범위로 평가
+     * 복구된 그룹은 모두 평가하므로 주변 그룹을 따로 다시 평가하지 않음
+     *
+     * @param groupId - 복구된 그룹의 아이디.
+     */
+    public void onRestored(long groupId) {
+
+        List<MatchMaking> matchMakingList = matchMakingRepository.findByGroupId(groupId);
+        if (matchMakingList.isEmpty()) return;
+
+        request(groupId, getMatchingRange(matchMakingList.get(0), LocalDateTime.now()));
+    }
+
+    /**
+     * 그룹이 매칭을 취소했을 때 호출
+     *
+     * @param groupId - 매칭을 취소한 그룹의 아이디.
+     */
+    public void onCancelled(long groupId) {
+
+        log.info("[로그] 매칭 취소 이벤트, groupId = {}", groupId);
+        pendingGroups.remove(groupId);
+    }
+
+    // 매 분 허용 범위가 넓어질 시간이 된 매칭만 인덱스로 조회하여, 새로 포함된 후보가 있는 그룹만 평가
+    @Scheduled(cron = "0 * * * * *")
+    public void onMatchingRangeExpanded() {
+
+        if (!ready) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        long deadline = System.nanoTime() + EXPANSION_BUDGET_NANOS;
+        List<MatchingRepository.DueMatchingView> dueList;
+        do {
+            // 예산을 넘기면 남은 매칭은 다음 평가 시간이 그대로이므로 다음 주기에 이어서 평가
+            if (System.nanoTime() > deadline) {
+                log.warn("[로그] 검색 범위 확장 평가 시간 초과, 남은 매칭은 다음 주기에 평가");
+                return;
+            }
+
+            dueList = matchingRepository.findDueForEvaluation(now, PageRequest.of(0, EVALUATION_PAGE_SIZE));
+
+            // 다음 평가 시간별로 모아 한 번에 갱신, 대기열에 없는 매칭은 더 이상 평가하지 않음
+            Map<LocalDateTime, List<Long>> nextEvaluationTimes = new HashMap<>();
+            List<Long> finishedIds = new ArrayList<>();
+            for (MatchingRepository.DueMatchingView due : dueList) {
+                LocalDateTime nextEvaluationTime = evaluate(due, now);
+                if (nextEvaluationTime != null) {
+                    nextEvaluationTimes.computeIfAbsent(nextEvaluationTime, key -> new ArrayList<>()).add(due.getId());
+                } else {
+                    finishedIds.add(due.getId());
+                }
+            }
+            nextEvaluationTimes.forEach(matchingRepository::updateNextEvaluationTimeByIdIn);
+            if (!finishedIds.isEmpty()) {
+                matchingRepository.updateNextEvaluationTimeByIdIn(null, finishedIds);
+            }
+        } while (dueList.size() == EVALUATION_PAGE_SIZE);
+    }
+
+    /**
+     * 검색 범위가 넓어진 매칭의 테두리에 후보가 있거나, 허용 rating 차이가 넓어져 새로 포함된 rating 구간에 후보가 있으면 평가를 요청
+     * 평가 시간이 된 시점 직전의 허용 범위와 현재 허용 범위를 비교하므로 평가가 늦어져도 그 사이에 넓어진 범위를 놓치지 않음
+     *
+     * @return 다음 평가 시간, 대기열에 없거나 검색 범위와 허용 rating 차이가 모두 최대값이면 null
+     */
+    private LocalDateTime evaluate(MatchingRepository.DueMatchingView due, LocalDateTime now) {
+
+        List<MatchMaking> matchMakingList = matchMakingRepository.findByGroupId(due.getGroupId());
+        if (matchMakingList.isEmpty()) return null;
+
+        MatchMakingTolerancePolicy.Tolerance previous = matchMakingTolerancePolicy.getTolerance(due.getSport(), due.getMatchingStartTime(), due.getNextEvaluationTime().minusMinutes(1));
+        MatchMakingTolerancePolicy.Tolerance current = matchMakingTolerancePolicy.getTolerance(due.getSport(), due.getMatchingStartTime(), now);
+        int matchingRange = current.matchingRange();
+
+        boolean rangeExpanded = matchingRange > previous.matchingRange();
+        boolean ratingExpanded = current.ratingMaxDiff() > previous.ratingMaxDiff();
+        if (rangeExpanded && matchingRange > 0 && matchMakingList.stream().anyMatch(matchMaking -> matchMakingRepository.existsByMatchingAndMatchingRing(matchMaking, matchingRange))) {
+            log.info("[로그] 검색 범위 확장 이벤트, groupId = {}, matchingRange = {}", due.getGroupId(), matchingRange);
+            request(due.getGroupId(), matchingRange);
+        } else if (ratingExpanded && matchMakingList.stream().anyMatch(matchMaking -> matchMakingRepository.existsByMatchingAndRatingRing(matchMaking, matchingRange, previous.ratingMaxDiff(), current.ratingMaxDiff()))) {
+            log.info("[로그] rating 허용 범위 확장 이벤트, groupId = {}, ratingMaxDiff = {}", due.getGroupId(), current.ratingMaxDiff());
+            request(due.getGroupId(), matchingRange);
+        }
+        return matchMakingTolerancePolicy.getNextEvaluationTime(due.getSport(), due.getMatchingStartTime(), now);
+    }
+
+    // 쌓인 평가 요청을 파티션별로 묶어 병렬로 매치메이킹, 모든 파티션이 끝나거나 예산이 지나야 다음 주기가 시작됨
+    @Scheduled(fixedDelay = 500)
+    public void dispatch() {
+
+        if (!ready) return;   // 복구 전에 들어온 평가 요청은 복구가 끝난 뒤 처리
+
+        long deadline = System.nanoTime() + DISPATCH_BUDGET_NANOS;
+
+        Map<PartitionKey, List<Evaluation>> partitions = new HashMap<>();
+        for (Long groupId : pendingGroups.keySet()) {
+            Integer matchingRange = pendingGroups.remove(groupId);
+            if (matchingRange == null) continue;
+
+            List<MatchMaking> matchMakingList = matchMakingRepository.findByGroupId(groupId);
+            if (!matchMakingList.isEmpty()) {
+                partitions.computeIfAbsent(PartitionKey.of(matchMakingList.get(0)), key -> new ArrayList<>())
+                        .add(new Evaluation(groupId, matchMakingList, matchingRange));
+            }
+        }
+        if (partitions.isEmpty()) return;
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (List<Evaluation> evaluations : partitions.values()) {
+            try {
+                futures.add(CompletableFuture.runAsync(() -> evaluatePartition(evaluations, deadline), matchMakingExecutor));
+            } catch (RejectedExecutionException exception) {
+                evaluations.forEach(evaluation -> request(evaluation.groupId(), evaluation.matchingRange()));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    // 파티션의 그룹을 오래 기다린 순서로 평가, 그룹마다 짧은 트랜잭션을 사용하고 예산을 넘기면 남은 그룹은 다음 주기로 넘김
+    private void evaluatePartition(List<Evaluation> evaluations, long deadline) {
+
+        evaluations.sort(Comparator.comparing(evaluation -> evaluation.matchMakingList().get(0).getMatchingStartTime()));
+        for (Evaluation evaluation : evaluations) {
+            if (System.nanoTime() > deadline) {
+                request(evaluation.groupId(), evaluation.matchingRange());
+                continue;
+            }
+            try {
+                // 선점 경쟁에서 졌으면 남은 후보로 다시 매칭할 수 있도록 다음 주기에 다시 평가
+                if (matchMakingService.findMatching(evaluation.matchMakingList(), evaluation.matchingRange())) {
+                    log.info("[로그] 선점 실패로 다시 평가 요청, groupId = {}", evaluation.groupId());
+                    request(evaluation.groupId(), evaluation.matchingRange());
+                }
+            } catch (RuntimeException exception) {
+                log.error("[로그] 매치메이킹 실패, groupId = {}", evaluation.groupId(), exception);
+            }
+        }
+    }
+
+    private void request(long groupId, int matchingRange) {
+        pendingGroups.merge(groupId, matchingRange, Math::max);
+    }
+
+    // 매칭 시작 후 종목별 스케줄에 따라 검색 범위를 1칸(약 1km)씩 확장
+    private int getMatchingRange(MatchMaking matchMaking, LocalDateTime now) {
+        return matchMakingTolerancePolicy.getTolerance(matchMaking.getSport(), matchMaking.getMatchingStartTime(), now).matchingRange();
+    }
+
+    private record Evaluation(long groupId, List<MatchMaking> matchMakingList, int matchingRange) {
+    }
+
+    // 종목 x 지역, 같은 파티션의 그룹은 서로의 후보가 될 수 있으므로 차례로 평가하여 선점 충돌을 줄임
+    private record PartitionKey(Sport sport, int latRegion, int lngRegion) {
+
+        static PartitionKey of(MatchMaking matchMaking) {
+            return new PartitionKey(
+                    matchMaking.getSport(),
+                    (int) Math.floor(matchMaking.getLatitude() / REGION_SIZE),
+                    (int) Math.floor(matchMaking.getLongitude() / REGION_SIZE)
+            );
+        }
+    }
+}
@@ -7,9 +7,11 @@ import com.capstone.goat.exception.ex.CustomException;
 import com.capstone.goat.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -29,9 +31,10 @@ public class MatchMakingService {
     private final GroupService groupService;
     private final GroupRepository groupRepository;
     private final GameRepository gameRepository;
-    private final TeammateRepository teammateRepository;
-    private final NotificationService notificationService;
-    private final VotedCourtRepository votedCourtRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TeamAssembler teamAssembler;
+    private final GameJdbcRepository gameJdbcRepository;
+    private final MatchMakingTolerancePolicy matchMakingTolerancePolicy;
 
     @Transactional
     public long addMatchingAndMatchMaking(MatchingConditionDto matchingConditionDto, long userId, int rating) {
@@ -82,36 +85,45 @@ public class MatchMakingService {
                 )
                 .toList();  // Dto의 List<String> matchStartTimes를 List<MatchStartTime>으로 변환
         matching.addMatchStartTimes(matchStartTimeList);
+        matching.changeNextEvaluationTime(matchMakingTolerancePolicy.getNextEvaluationTime(sport, matching.getMatchingStartTime(), matching.getMatchingStartTime()));
         matchingRepository.save(matching);
 
         // MatchMaking Repository에 저장
-        matchingConditionDto.toMatchMakingList(userCount, rating, group.getId())  // List<MatchMaking>
-                .forEach(matchMakingRepository::save);
+        matchMakingRepository.saveAll(matchingConditionDto.toMatchMakingList(userCount, rating, group.getId()));
 
         return group.getId();
     }
 
-    @Async
+    /**
+     * MatchMakingEngine이 파티션별 스레드에서 호출, 그룹마다 짧은 트랜잭션으로 처리
+     *
+     * @return 게임을 만들지 못했고 다른 매칭과의 선점 경쟁에서 져서 다시 평가해야 하면 true
+     */
     @Transactional
-    public void findMatching(MatchingConditionDto matchingConditionDto, long groupId, int rating, int matchingRange) {
+    public boolean findMatching(List<MatchMaking> groupMatchMakingList, int matchingRange) {
 
-        for (MatchMaking matchMaking : matchingConditionDto.toMatchMakingList(0, rating, groupId)) {
+        // 한 그룹의 매칭은 종목과 매칭 시작 시간이 같으므로 허용 rating 차이는 한 번만 계산
+        MatchMaking groupMatchMaking = groupMatchMakingList.get(0);
+        int ratingMaxDiff = matchMakingTolerancePolicy
+                .getTolerance(groupMatchMaking.getSport(), groupMatchMaking.getMatchingStartTime(), LocalDateTime.now())
+                .ratingMaxDiff();
 
-            log.info("[로그] 매치메이킹 시작, groupId = {}, isClubMatching = {}, matchingRange = {}", groupId, matchMaking.getIsClubMatching(), matchingRange);
+        boolean claimLost = false;
+
+        for (MatchMaking matchMaking : groupMatchMakingList) {
+
+            log.info("[로그] 매치메이킹 시작, groupId = {}, isClubMatching = {}, matchingRange = {}, ratingMaxDiff = {}", matchMaking.getGroupId(), matchMaking.getIsClubMatching(), matchingRange, ratingMaxDiff);
 
             // 조건에 맞는 매칭 중인 유저 검색
-            List<MatchMaking> matchMakingList = matchMakingRepository.findByMatchingAndMatchingRange(matchMaking, matchingRange);
+            List<MatchMaking> matchMakingList = matchMakingRepository.findByMatchingAndMatchingRange(matchMaking, matchingRange, ratingMaxDiff);
 
             log.info("[로그] 조건에 맞는 매칭 중인 유저, matchMakingList = " + matchMakingList);
 
             // 검색한 리스트가 비어있으면 다음으로
             if (matchMakingList.size() < 2) continue;
 
-            double latitude = matchingConditionDto.getLatitude();
-            double longitude = matchingConditionDto.getLongitude();
-
             /*--클럽 매칭-----------------------------------------------------------------------------------*/
-            if (matchingConditionDto.getIsClubMatching()) {
+            if (matchMaking.getIsClubMatching()) {
                 MatchMaking club1 = matchMakingList.get(0);
                 MatchMaking club2 = matchMakingList.get(1);
 
@@ -138,89 +150,69 @@ public class MatchMakingService {
 
                 log.info("[로그] : club1GroupId: " + club1GroupId + " club2GroupId: " + club2GroupId);
 
-                // Matching과 MatchMaking에서 매칭된 그룹 제거
+                // MatchMaking에서 매칭된 클럽 선점, 다른 매칭에 먼저 선점되었으면 다음으로
+                if (!claimMatchedGroups(club1GroupId, club2GroupId)) {
+                    claimLost = true;
+                    continue;
+                }
+
+                // Matching에서 매칭된 클럽 제거
                 deleteMatchedClub(club1, club2);
 
+                // 매칭된 모든 유저를 한 번에 조회
+                List<User> matchedUsers = userRepository.findAllByGroupIdIn(concat(club1GroupId, club2GroupId));
+
                 // Game에 추가
-                Long gameId = addGame(club1GroupId, club2GroupId, matchMaking, preferCourtList);
+                Long gameId = addGame(club1GroupId, club2GroupId, matchMaking, preferCourtList, matchedUsers);
 
                 // 매칭된 모든 유저를 게임 중으로 상태 변경 및 매칭 완료 알림 전송
-                initiateUserGaming(gameId);
+                initiateUserGaming(gameId, matchedUsers);
 
                 // 매칭된 그룹 모두 해체
                 disbandGroupAll(club1GroupId, club2GroupId);
 
-                return;
+                return false;
             }
 
             /*--일반 매칭--------------------------------------------------------------------------------*/
-            // 스포츠 인원에 맞는 팀 구성이 되는지 확인
-            int player = Sport.getSport(matchingConditionDto.getSport()).getPlayer();
-            List<MatchMaking> team1 = findSumSubset(matchMakingList, player);
-            if (team1.isEmpty()) continue;
-            List<MatchMaking> team2 = findSumSubset(matchMakingList, player);
+            // 스포츠 인원에 맞으면서 rating이 균형 잡힌 두 팀 구성이 되는지 확인
+            int player = matchMaking.getSport().getPlayer();
+            Optional<TeamAssembler.Teams> teams = teamAssembler.assemble(matchMakingList, player);
 
-            if (!team2.isEmpty()) {
+            if (teams.isPresent()) {
+                List<MatchMaking> team1 = teams.get().team1();
+                List<MatchMaking> team2 = teams.get().team2();
                 List<Long> team1GroupId = team1.stream().map(MatchMaking::getGroupId).toList();
                 List<Long> team2GroupId = team2.stream().map(MatchMaking::getGroupId).toList();
                 List<PreferCourt> preferCourtList = getPerferCourtList(team1, team2);
 
                 log.info("[로그] : team1GroupId: " + team1GroupId + " team2GroupId: " + team2GroupId);
 
-                // Matching과 MatchMaking에서 매칭된 그룹 제거
+                // MatchMaking에서 매칭된 그룹 선점, 다른 매칭에 먼저 선점되었으면 다음으로
+                if (!claimMatchedGroups(team1GroupId, team2GroupId)) {
+                    claimLost = true;
+                    continue;
+                }
+
+                // Matching에서 매칭된 그룹 제거
                 deleteMatchedGroup(team1, team2);
 
+                // 매칭된 모든 유저를 한 번에 조회
+                List<User> matchedUsers = userRepository.findAllByGroupIdIn(concat(team1GroupId, team2GroupId));
+
                 // Game에 추가
-                Long gameId = addGame(team1GroupId, team2GroupId, matchMaking, preferCourtList);
+                Long gameId = addGame(team1GroupId, team2GroupId, matchMaking, preferCourtList, matchedUsers);
 
                 // 매칭된 모든 유저를 게임 중으로 상태 변경 및 매칭 완료 알림 전송
-                initiateUserGaming(gameId);
+                initiateUserGaming(gameId, matchedUsers);
 
                 // 매칭된 그룹 모두 해체
                 disbandGroupAll(team1GroupId, team2GroupId);
 
-                return;
-            }
-        }
-    }
-
-    // 그룹 인원 수의 합이 스포츠 한 팀의 수와 같은 집합 검색
-    private List<MatchMaking> findSumSubset(List<MatchMaking> matchMakingList, int target) {
-
-        int n = matchMakingList.size();
-        boolean[][] dp = new boolean[n + 1][target + 1];
-
-        // 모든 부분집합은 빈 집합을 포함하기 때문에 true로 초기화
-        for (int i = 0; i <= n; i++) {
-            dp[i][0] = true;
-        }
-
-        // 동적 프로그래밍을 사용하여 부분집합의 합을 계산
-        for (int i = 1; i <= n; i++) {
-            for (int j = 1; j <= target; j++) {
-                if (matchMakingList.get(i - 1).getUserCount() > j) {
-                    dp[i][j] = dp[i - 1][j];
-                } else {
-                    dp[i][j] = dp[i - 1][j] || dp[i - 1][j - matchMakingList.get(i - 1).getUserCount()];
-                }
-            }
-        }
-
-        // 부분집합을 구성하는 요소를 찾아내기
-        List<MatchMaking> subset = new ArrayList<>();
-        if (dp[n][target]) {
-            int i = n, j = target;
-            while (i > 0 && j > 0) {
-                if (!dp[i - 1][j]) {
-                    subset.add(matchMakingList.get(i - 1));
-                    j -= matchMakingList.get(i - 1).getUserCount();
-                    matchMakingList.remove(i - 1);
-                }
-                i--;
+                return false;
             }
         }
-
-        return subset;
+        return claimLost;
     }
 
     // MatchMaking 리스트를 중복이 제거된 PreferCourt 리스트로 변환
@@ -250,36 +242,53 @@ public class MatchMakingService {
         return new ArrayList<>(preferCourtSet);
     }
 
-    // Matching과 MatchMaking에서 매칭된 클럽 제거
+    // MatchMaking에서 매칭된 그룹을 모두 선점, 트랜잭션이 롤백되면 선점한 매칭을 대기열에 되돌림
+    private boolean claimMatchedGroups(List<Long> team1, List<Long> team2) {
+
+        List<Long> groupIds = concat(team1, team2);
+
+        List<MatchMaking> claimedList = matchMakingRepository.claimByGroupIds(groupIds);
+        if (claimedList.isEmpty()) {
+            log.info("[로그] 이미 다른 매칭에 선점된 그룹 존재, groupIds = {}", groupIds);
+            return false;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    matchMakingRepository.saveAll(claimedList);
+                }
+            }
+        });
+        return true;
+    }
+
+    // Matching에서 매칭된 클럽 제거
     private void deleteMatchedClub(MatchMaking club1, MatchMaking club2) {
 
         log.info("[로그] deleteByGroupId 시작");
 
-        matchMakingRepository.deleteByGroupIdAndLatitudeAndLongitude(club1.getGroupId(), club1.getLatitude(), club1.getLongitude());
         matchingRepository.deleteByGroupId(club1.getGroupId());
-
-        matchMakingRepository.deleteByGroupIdAndLatitudeAndLongitude(club2.getGroupId(), club2.getLatitude(), club2.getLongitude());
         matchingRepository.deleteByGroupId(club2.getGroupId());
 
     }
 
-    // Matching과 MatchMaking에서 매칭된 그룹 제거
+    // Matching에서 매칭된 그룹 제거
     private void deleteMatchedGroup(List<MatchMaking> team1, List<MatchMaking> team2) {
 
         log.info("[로그] deleteByGroupId 시작");
 
         for (MatchMaking matchMaking : team1) {
-            matchMakingRepository.deleteByGroupIdAndLatitudeAndLongitude(matchMaking.getGroupId(), matchMaking.getLatitude(), matchMaking.getLongitude());
             matchingRepository.deleteByGroupId(matchMaking.getGroupId());
         }
         for (MatchMaking matchMaking : team2) {
-            matchMakingRepository.deleteByGroupIdAndLatitudeAndLongitude(matchMaking.getGroupId(), matchMaking.getLatitude(), matchMaking.getLongitude());
             matchingRepository.deleteByGroupId(matchMaking.getGroupId());
         }
     }
 
     // 게임 생성
-    private Long addGame(List<Long> team1, List<Long> team2, MatchMaking matchMaking, List<PreferCourt> preferCourtList) {
+    private Long addGame(List<Long> team1, List<Long> team2, MatchMaking matchMaking, List<PreferCourt> preferCourtList, List<User> matchedUsers) {
 
         log.info("[로그] addGame() 시작");
 
@@ -289,8 +298,7 @@ public class MatchMakingService {
 
         Game game = createAndSaveGame(matchMaking, matchStartDateTime, clubGame);
 
-        saveTeammates(team1, game, 1);
-        saveTeammates(team2, game, 2);
+        saveTeammates(team1, matchedUsers, game);
 
         assignPreferCourts(preferCourtList, game);
 
@@ -312,11 +320,15 @@ public class MatchMakingService {
         log.info("[로그] initializeClubGame() 시작");
 
         if (matchMaking.getIsClubMatching()) {
+            Map<Long, Group> groupMap = new HashMap<>();
+            groupRepository.findAllById(List.of(team1.get(0), team2.get(0)))
+                    .forEach(group -> groupMap.put(group.getId(), group));
+
             ClubGame clubGame = new ClubGame();
-            groupRepository.findById(team1.get(0)).ifPresent(group ->
+            Optional.ofNullable(groupMap.get(team1.get(0))).ifPresent(group ->
                     clubGame.appendTeam1Info(group.getMasterId(), group.getClubId())
             );
-            groupRepository.findById(team2.get(0)).ifPresent(group ->
+            Optional.ofNullable(groupMap.get(team2.get(0))).ifPresent(group ->
                     clubGame.appendTeam2Info(group.getMasterId(), group.getClubId())
             );
             return clubGame;
@@ -336,34 +348,35 @@ public class MatchMakingService {
         return gameRepository.save(newGame);
     }
 
-    private void saveTeammates(List<Long> team, Game game, int teamNumber) {
+    // 매칭된 유저를 그룹에 따라 팀을 나누어 한 번에 저장
+    private void saveTeammates(List<Long> team1, List<User> matchedUsers, Game game) {
 
         log.info("[로그] saveTeammates() 시작");
 
-        team.forEach(groupId ->
-                Optional.ofNullable(groupRepository.findUsersById(groupId))
-                        .stream().flatMap(Collection::stream)
-                        .forEach(user ->
-                                teammateRepository.save(
-                                        Teammate.builder()
-                                                .teamNumber(teamNumber)
-                                                .game(game)
-                                                .userId(user.getId())
-                                                .build()
-                                )
-                        )
-        );
+        Set<Long> team1GroupIdSet = new HashSet<>(team1);
+        List<Teammate> teammateList = matchedUsers.stream()
+                .map(user ->
+                        Teammate.builder()
+                                .teamNumber(team1GroupIdSet.contains(user.getGroup().getId()) ? 1 : 2)
+                                .game(game)
+                                .userId(user.getId())
+                                .build()
+                )
+                .toList();
+        gameJdbcRepository.saveAllTeammates(teammateList);
     }
 
     private void assignPreferCourts(List<PreferCourt> preferCourtList, Game game) {
 
         log.info("[로그] assignPreferCourts() 시작");
 
+        List<VotedCourt> votedCourtList = new ArrayList<>();
         preferCourtList.forEach(preferCourt -> {
             preferCourt.determineGame(game);
             game.addPreferCourt(preferCourt);
-            votedCourtRepository.save(VotedCourt.builder().court(preferCourt.getCourt()).game(game).build());
+            votedCourtList.add(VotedCourt.builder().court(preferCourt.getCourt()).game(game).build());
         });
+        gameJdbcRepository.saveAllVotedCourts(votedCourtList);
 
         if (game.getClubGame() != null) {
             PreferCourt court = preferCourtList.get(0);
@@ -371,16 +384,17 @@ public class MatchMakingService {
         }
     }
 
-    private void initiateUserGaming(Long gameId) {
+    private void initiateUserGaming(Long gameId, List<User> matchedUsers) {
 
         log.info("[로그] initiateUserGaming() 시작 - gameId: {}", gameId);
 
-        // 매칭된 모든 유저를 게임 중으로 상태 변경 및 매칭 완료 알림 전송
-        teammateRepository.findUserIdsByGameId(gameId).forEach(userId -> {
-            User user = getUser(userId);
-            user.changeStatus(Status.GAMING);
-            notificationService.sendNotification(null, user.getNickname(), NotificationType.MATCHING);
-        });
+        List<Long> matchedUserIds = matchedUsers.stream().map(User::getId).toList();
+
+        // 매칭된 모든 유저를 게임 중으로 상태 변경
+        userRepository.updateStatusByIdIn(Status.GAMING, matchedUserIds);
+
+        // 매칭 완료 알림은 트랜잭션이 커밋된 후 전송
+        eventPublisher.publishEvent(new MatchingNotificationEvent(matchedUserIds));
     }
 
     // 매칭된 그룹 모두 삭제
@@ -388,19 +402,20 @@ public class MatchMakingService {
 
         log.info("[로그] disbandGroupAll() 시작");
 
-        for (long groupId: team1) {
-            groupRepository.findById(groupId)
-                    .ifPresent(groupService::disbandGroup);
-        }
+        List<Long> groupIds = concat(team1, team2);
+        userRepository.leaveGroupByGroupIdIn(groupIds);
+        userRepository.denyInvitedGroupByGroupIdIn(groupIds);
+        groupRepository.deleteAllByIdInBatch(groupIds);
+    }
 
-        for (Long groupId : team2) {
-            groupRepository.findById(groupId)
-                    .ifPresent(groupService::disbandGroup);
-        }
+    private List<Long> concat(List<Long> team1, List<Long> team2) {
+        List<Long> groupIds = new ArrayList<>(team1);
+        groupIds.addAll(team2);
+        return groupIds;
     }
 
     @Transactional
-    public void deleteMatching(long userId) {
+    public long deleteMatching(long userId) {
 
         log.info("[로그] deleteMatching() 시작");
 
@@ -414,9 +429,11 @@ public class MatchMakingService {
 
         // 매칭 삭제
         long groupId = group.getId();
-        Matching foundMatching = matchingRepository.findByGroupId(groupId).
-                orElseThrow(() -> new CustomException(CustomErrorCode.NO_MATCHING));
-        matchMakingRepository.deleteByGroupIdAndLatitudeAndLongitude(groupId, foundMatching.getLatitude(), foundMatching.getLongitude());
+        if (matchingRepository.findByGroupId(groupId).isEmpty())
+            throw new CustomException(CustomErrorCode.NO_MATCHING);
+        // 다른 매칭이 이미 선점하여 게임을 만드는 중이면 취소 불가능
+        if (!matchMakingRepository.deleteByGroupId(groupId))
+            throw new CustomException(CustomErrorCode.MATCHING_IN_PROGRESS);
         matchingRepository.deleteByGroupId(groupId);
 
         // 그룹원 모두 대기 중으로 상태 변경
@@ -426,6 +443,8 @@ public class MatchMakingService {
         if(group.getMembers().size() == 1){
             groupService.disbandGroup(group);
         }
+
+        return groupId;
     }
 
     private User getUser(Long userId) {
@@ -0,0 +1,174 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.Sport;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 매칭 대기 시간에 따라 함께 매칭할 rating 차이와 검색 범위(격자 칸 수)를 정하는 정책
+ * <p>
+ * 종목별 스케줄(matchmaking.tolerance.sports.{종목}.*, 지정하지 않은 값은 matchmaking.tolerance.defaults.*)로
+ * 최대값에 도달할 때까지 대기 분마다의 허용 범위를 시작 시 미리 계산해 두므로, 매치메이킹 중에는 대기 시간을 한 번 구해 표에서 찾기만 한다.
+ */
+@Component
+@ConfigurationProperties(prefix = "matchmaking.tolerance")
+public class MatchMakingTolerancePolicy {
+
+    @Getter
+    private final Schedule defaults = new Schedule(100, 100, 10, 1500, 1, 10);
+
+    @Getter
+    private final Map<Sport, Schedule> sports = new EnumMap<>(Sport.class);
+
+    private final Map<Sport, Table> tables = new EnumMap<>(Sport.class);
+
+    // 대기 시간 기준 허용 범위, matchingRange는 격자 칸 수(약 1km)
+    public record Tolerance(int ratingMaxDiff, int matchingRange) {
+    }
+
+    @PostConstruct
+    protected void init() {
+        for (Sport sport : Sport.values()) {
+            Schedule schedule = sports.getOrDefault(sport, new Schedule()).orDefaults(defaults);
+            sports.put(sport, schedule);
+            tables.put(sport, Table.of(schedule));
+        }
+    }
+
+    public Tolerance getTolerance(Sport sport, LocalDateTime matchingStartTime, LocalDateTime now) {
+        long waitMinutes = Math.max(0, ChronoUnit.MINUTES.between(matchingStartTime, now));
+        return tables.get(sport).get(waitMinutes);
+    }
+
+    // 모든 종목 중 가장 넓은 검색 범위
+    public int getMaxMatchingRange() {
+        return tables.values().stream().mapToInt(table -> table.maxMatchingRange).max().orElse(0);
+    }
+
+    /**
+     * 현재 이후 검색 범위나 허용 rating 차이가 처음으로 넓어지는 시간
+     *
+     * @return 둘 다 이미 최대값이면 null
+     */
+    public LocalDateTime getNextEvaluationTime(Sport sport, LocalDateTime matchingStartTime, LocalDateTime now) {
+        long waitMinutes = Math.max(0, ChronoUnit.MINUTES.between(matchingStartTime, now));
+        int nextChangeMinute = tables.get(sport).getNextChangeMinute(waitMinutes);
+        if (nextChangeMinute < 0) return null;
+
+        return matchingStartTime.plusMinutes(nextChangeMinute);
+    }
+
+    // 튜닝을 위해 종목별 스케줄과 미리 계산된 대기 분별 허용 범위를 반환
+    public Map<Sport, Map<String, Object>> describe() {
+        Map<Sport, Map<String, Object>> description = new EnumMap<>(Sport.class);
+        tables.forEach((sport, table) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("schedule", sports.get(sport));
+            entry.put("ratingMaxDiffByMinute", table.ratingMaxDiff);
+            entry.put("matchingRangeByMinute", table.matchingRange);
+            description.put(sport, entry);
+        });
+        return description;
+    }
+
+    /**
+     * 대기 시간에 따른 허용 범위 스케줄
+     * rating 차이는 ratingInitial에서 ratingStepMinutes분마다 ratingStep씩 ratingMax까지,
+     * 검색 범위는 0칸에서 rangeStepMinutes분마다 1칸씩 rangeMax까지 넓어진다.
+     */
+    @Getter
+    @Setter
+    public static class Schedule {
+
+        private Integer ratingInitial;
+        private Integer ratingStep;
+        private Integer ratingStepMinutes;
+        private Integer ratingMax;
+        private Integer rangeStepMinutes;
+        private Integer rangeMax;
+
+        public Schedule() {
+        }
+
+        private Schedule(Integer ratingInitial, Integer ratingStep, Integer ratingStepMinutes, Integer ratingMax, Integer rangeStepMinutes, Integer rangeMax) {
+            this.ratingInitial = ratingInitial;
+            this.ratingStep = ratingStep;
+            this.ratingStepMinutes = ratingStepMinutes;
+            this.ratingMax = ratingMax;
+            this.rangeStepMinutes = rangeStepMinutes;
+            this.rangeMax = rangeMax;
+        }
+
+        private Schedule orDefaults(Schedule defaults) {
+            return new Schedule(
+                    ratingInitial != null ? ratingInitial : defaults.ratingInitial,
+                    ratingStep != null ? ratingStep : defaults.ratingStep,
+                    ratingStepMinutes != null ? ratingStepMinutes : defaults.ratingStepMinutes,
+                    ratingMax != null ? ratingMax : defaults.ratingMax,
+                    rangeStepMinutes != null ? rangeStepMinutes : defaults.rangeStepMinutes,
+                    rangeMax != null ? rangeMax : defaults.rangeMax
+            );
+        }
+    }
+
+    // 대기 분 -> 허용 범위, 마지막 값 이후로는 최대값 유지
+    private static class Table {
+
+        private final int[] ratingMaxDiff;
+        private final int[] matchingRange;
+        private final Tolerance[] tolerances;
+        private final int[] nextChangeMinute;    // 대기 분 -> 허용 범위가 다음으로 넓어지는 대기 분, 더 넓어지지 않으면 -1
+        private final int maxMatchingRange;
+
+        private Table(int[] ratingMaxDiff, int[] matchingRange, int maxMatchingRange) {
+            this.ratingMaxDiff = ratingMaxDiff;
+            this.matchingRange = matchingRange;
+            this.maxMatchingRange = maxMatchingRange;
+            this.tolerances = new Tolerance[ratingMaxDiff.length];
+            for (int minute = 0; minute < tolerances.length; minute++) {
+                tolerances[minute] = new Tolerance(ratingMaxDiff[minute], matchingRange[minute]);
+            }
+            this.nextChangeMinute = new int[tolerances.length];
+            int next = -1;
+            for (int minute = tolerances.length - 1; minute >= 0; minute--) {
+                nextChangeMinute[minute] = next;
+                if (minute > 0 && !tolerances[minute].equals(tolerances[minute - 1])) next = minute;
+            }
+        }
+
+        private static Table of(Schedule schedule) {
+            int ratingStepMinutes = Math.max(1, schedule.ratingStepMinutes);
+            int rangeStepMinutes = Math.max(1, schedule.rangeStepMinutes);
+            int ratingSteps = schedule.ratingStep > 0
+                    ? Math.max(0, (schedule.ratingMax - schedule.ratingInitial + schedule.ratingStep - 1) / schedule.ratingStep)
+                    : 0;
+            int rangeExpansionMinutes = Math.max(0, schedule.rangeMax) * rangeStepMinutes;
+            int horizon = Math.max(ratingSteps * ratingStepMinutes, rangeExpansionMinutes);
+
+            int[] ratingMaxDiff = new int[horizon + 1];
+            int[] matchingRange = new int[horizon + 1];
+            for (int minute = 0; minute <= horizon; minute++) {
+                ratingMaxDiff[minute] = Math.min(schedule.ratingMax, schedule.ratingInitial + (minute / ratingStepMinutes) * schedule.ratingStep);
+                matchingRange[minute] = Math.min(Math.max(0, schedule.rangeMax), minute / rangeStepMinutes);
+            }
+            return new Table(ratingMaxDiff, matchingRange, Math.max(0, schedule.rangeMax));
+        }
+
+        private Tolerance get(long waitMinutes) {
+            return tolerances[(int) Math.min(waitMinutes, tolerances.length - 1)];
+        }
+
+        private int getNextChangeMinute(long waitMinutes) {
+            return nextChangeMinute[(int) Math.min(waitMinutes, nextChangeMinute.length - 1)];
+        }
+    }
+}
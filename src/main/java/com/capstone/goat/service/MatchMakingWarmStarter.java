@@ -0,0 +1,144 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.MatchMaking;
+import com.capstone.goat.repository.MatchMakingRepository;
+import com.capstone.goat.repository.MatchingRepository;
+import com.capstone.goat.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 서버 시작 시 Matching 테이블로 메모리 매칭 대기열을 다시 만드는 로더
+ * <p>
+ * 매칭을 id 순으로 BATCH_SIZE개씩 읽어 희망 시작 시간과 그룹 인원 수를 함께 조회한 뒤 대기열에 넣고, 복구된 그룹의 평가를 요청한다.
+ * 다음 평가 시간이 없는 매칭(다음 평가 시간 컬럼이 추가되기 전에 저장된 매칭)은 매칭 시작 시간 기준으로 다음 평가 시간을 채운다.
+ * ApplicationRunner는 readiness가 ACCEPTING_TRAFFIC이 되기 전에 실행되므로 복구가 끝날 때까지 readiness는 REFUSING_TRAFFIC으로 유지된다.
+ * 웹 서버는 이미 요청을 받고 있으므로 복구가 끝난 뒤에 MatchMakingEngine의 주기 작업을 시작하며,
+ * 복구에 실패하면 빈 대기열로 서비스하지 않도록 시작을 중단한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchMakingWarmStarter implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MatchingRepository matchingRepository;
+    private final UserRepository userRepository;
+    private final MatchMakingRepository matchMakingRepository;
+    private final MatchMakingEngine matchMakingEngine;
+    private final MatchMakingTolerancePolicy matchMakingTolerancePolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int groupCount = load();
+        matchMakingEngine.markReady();
+        long elapsedNanos = sample.stop(meterRegistry.timer("matchmaking.warmstart"));
+
+        meterRegistry.counter("matchmaking.warmstart.groups").increment(groupCount);
+        log.info("[로그] 매칭 대기열 복구 완료, 그룹 수 = {}, 소요 시간 = {}ms", groupCount, elapsedNanos / 1_000_000);
+    }
+
+    private int load() {
+
+        int groupCount = 0;
+        long cursor = 0;
+        while (true) {
+            List<MatchingRepository.QueuedMatchingView> matchingList = matchingRepository.findQueuedAfter(cursor, PageRequest.of(0, BATCH_SIZE));
+            if (matchingList.isEmpty()) break;
+            cursor = matchingList.get(matchingList.size() - 1).getId();
+
+            groupCount += restore(matchingList);
+
+            if (matchingList.size() < BATCH_SIZE) break;
+        }
+        return groupCount;
+    }
+
+    // 한 배치의 매칭을 그룹별로 대기열에 넣고 평가 요청
+    private int restore(List<MatchingRepository.QueuedMatchingView> matchingList) {
+
+        List<Long> matchingIds = matchingList.stream().map(MatchingRepository.QueuedMatchingView::getId).collect(Collectors.toList());
+        List<Long> groupIds = matchingList.stream().map(MatchingRepository.QueuedMatchingView::getGroupId).collect(Collectors.toList());
+
+        Map<Long, List<String>> startTimesByMatchingId = new HashMap<>();
+        matchingRepository.findStartTimesByMatchingIdIn(matchingIds).forEach(startTime ->
+                startTimesByMatchingId.computeIfAbsent(startTime.getMatchingId(), key -> new ArrayList<>()).add(startTime.getStartTime())
+        );
+        Map<Long, Long> userCountByGroupId = new HashMap<>();
+        userRepository.countByGroupIdIn(groupIds).forEach(groupSize ->
+                userCountByGroupId.put(groupSize.getGroupId(), groupSize.getUserCount())
+        );
+
+        List<Long> restoredGroupIds = new ArrayList<>();
+        for (MatchingRepository.QueuedMatchingView matching : matchingList) {
+            List<String> startTimes = startTimesByMatchingId.get(matching.getId());
+            Long userCount = userCountByGroupId.get(matching.getGroupId());
+            if (startTimes == null || userCount == null) {
+                log.warn("[로그] 복구할 수 없는 매칭 건너뜀, matchingId = {}, groupId = {}", matching.getId(), matching.getGroupId());
+                continue;
+            }
+            // 복구 중에 매칭을 시작하여 이미 대기열에 있는 그룹은 중복으로 넣지 않음
+            if (!matchMakingRepository.findByGroupId(matching.getGroupId()).isEmpty()) continue;
+
+            matchMakingRepository.saveAll(startTimes.stream().map(startTime ->
+                    MatchMaking.builder()
+                            .sport(matching.getSport())
+                            .userCount(userCount.intValue())
+                            .rating(matching.getRating())
+                            .latitude(matching.getLatitude())
+                            .longitude(matching.getLongitude())
+                            .preferCourt(matching.getPreferCourt())
+                            .isClubMatching(matching.getIsClubMatching())
+                            .matchingStartTime(matching.getMatchingStartTime())
+                            .matchStartTime(startTime)
+                            .groupId(matching.getGroupId())
+                            .build()).collect(Collectors.toList()));
+            restoredGroupIds.add(matching.getGroupId());
+        }
+
+        backfillNextEvaluationTimes(matchingList);
+
+        // 배치의 모든 그룹을 넣은 뒤 평가해야 같은 배치의 그룹끼리도 매칭됨
+        restoredGroupIds.forEach(matchMakingEngine::onRestored);
+        return restoredGroupIds.size();
+    }
+
+    // 다음 평가 시간이 없는 매칭은 허용 범위가 다음으로 넓어지는 시간으로 채워 검색 범위 확장 평가 대상에 포함
+    private void backfillNextEvaluationTimes(List<MatchingRepository.QueuedMatchingView> matchingList) {
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<LocalDateTime, List<Long>> nextEvaluationTimes = new HashMap<>();
+        for (MatchingRepository.QueuedMatchingView matching : matchingList) {
+            if (matching.getNextEvaluationTime() != null) continue;
+
+            LocalDateTime nextEvaluationTime = matchMakingTolerancePolicy.getNextEvaluationTime(matching.getSport(), matching.getMatchingStartTime(), now);
+            if (nextEvaluationTime != null) {
+                nextEvaluationTimes.computeIfAbsent(nextEvaluationTime, key -> new ArrayList<>()).add(matching.getId());
+            }
+        }
+        nextEvaluationTimes.forEach(matchingRepository::updateNextEvaluationTimeByIdIn);
+    }
+}
@@ -0,0 +1,104 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.dto.response.NotificationResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 매칭 완료 알림 전송을 매치메이킹 트랜잭션에서 분리
+ * <p>
+ * 트랜잭션이 커밋된 후 수신자를 대기열에 넣고, 주기적으로 대기열을 비워 알림을 한 트랜잭션에서 저장한 뒤
+ * SSE 전송은 SseConnectionHub의 전송 전용 스레드 풀에 맡긴다.
+ * <p>
+ * 한 번에 저장하다 실패하면 수신자마다 따로 저장하여 한 수신자의 실패가 배치 전체의 알림을 막지 않게 하고,
+ * 따로 저장해도 실패한 수신자는 MAX_ATTEMPTS번까지 다음 주기에 다시 시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingNotificationDispatcher {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final NotificationService notificationService;
+
+    private final BlockingQueue<Outbound> outboundQueue = new LinkedBlockingQueue<>();
+
+    // 알림을 보낼 수신자와 지금까지 저장을 시도한 횟수
+    private record Outbound(long receiverId, int attempts) {
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMatched(MatchingNotificationEvent event) {
+        event.receiverIds().forEach(receiverId -> outboundQueue.add(new Outbound(receiverId, 0)));
+    }
+
+    @Scheduled(fixedDelay = 200)
+    public void flush() {
+
+        List<Outbound> batch = new ArrayList<>(BATCH_SIZE);
+        List<Outbound> retryList = new ArrayList<>();
+        while (outboundQueue.drainTo(batch, BATCH_SIZE) > 0) {
+            List<Long> receiverIds = batch.stream().map(Outbound::receiverId).toList();
+            List<NotificationResponseDto> eventList;
+            try {
+                eventList = notificationService.saveMatchingNotifications(receiverIds);
+            } catch (RuntimeException exception) {
+                log.warn("[로그] 매칭 완료 알림 일괄 저장 실패, 수신자별로 다시 저장, receiverIds = {}", receiverIds, exception);
+                batch.forEach(outbound -> saveAndNotify(outbound, retryList));
+                batch.clear();
+                continue;
+            }
+            for (int i = 0; i < receiverIds.size(); i++) {
+                notify(receiverIds.get(i), eventList.get(i));
+            }
+            batch.clear();
+        }
+        // 이번 주기에 실패한 수신자는 다음 주기에 다시 시도
+        outboundQueue.addAll(retryList);
+    }
+
+    // 한 수신자의 알림만 저장하고 전송, 실패하면 시도 횟수가 남아 있을 때 retryList에 추가
+    private void saveAndNotify(Outbound outbound, List<Outbound> retryList) {
+
+        NotificationResponseDto event;
+        try {
+            event = notificationService.saveMatchingNotifications(List.of(outbound.receiverId())).get(0);
+        } catch (RuntimeException exception) {
+            int attempts = outbound.attempts() + 1;
+            if (attempts < MAX_ATTEMPTS) {
+                retryList.add(new Outbound(outbound.receiverId(), attempts));
+            } else {
+                log.error("[로그] 매칭 완료 알림 전송 실패, receiverId = {}", outbound.receiverId(), exception);
+            }
+            return;
+        }
+        notify(outbound.receiverId(), event);
+    }
+
+    // 저장된 알림은 다시 저장하지 않도록 전송 실패는 기록만 함
+    private void notify(long receiverId, NotificationResponseDto event) {
+        try {
+            notificationService.notify(receiverId, event);
+        } catch (RuntimeException exception) {
+            log.error("[로그] 매칭 완료 알림 SSE 전송 실패, receiverId = {}", receiverId, exception);
+        }
+    }
+
+    // 종료 전에 대기열에 남은 알림을 저장
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
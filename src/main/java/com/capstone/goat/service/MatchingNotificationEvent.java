@@ -0,0 +1,7 @@
+package com.capstone.goat.service;
+
+import java.util.List;
+
+// 매치메이킹 트랜잭션이 커밋된 후 매칭 완료 알림을 보낼 유저 id 목록
+public record MatchingNotificationEvent(List<Long> receiverIds) {
+}
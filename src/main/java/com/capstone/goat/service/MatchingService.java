@@ -3,7 +3,6 @@ package com.capstone.goat.service;
 import com.capstone.goat.domain.MatchStartTime;
 import com.capstone.goat.domain.Matching;
 import com.capstone.goat.domain.User;
-import com.capstone.goat.dto.request.MatchingConditionDto;
 import com.capstone.goat.dto.response.MatchingResponseDto;
 import com.capstone.goat.exception.ex.CustomErrorCode;
 import com.capstone.goat.exception.ex.CustomException;
@@ -11,12 +10,9 @@ import com.capstone.goat.repository.MatchingRepository;
 import com.capstone.goat.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,7 +23,6 @@ import java.util.Optional;
 public class MatchingService {
 
     private final MatchingRepository matchingRepository;
-    private final MatchMakingService matchMakingService;
     private final UserRepository userRepository;
 
     private static MatchingResponseDto toDto (Matching matching) {
@@ -55,35 +50,4 @@ public class MatchingService {
                 .map(MatchingService::toDto)
                 .orElse(null);  // 매칭 중이 아니면 null 반환
     }
-
-    // 일정 주기로 실행할 스케줄링 메서드
-    @Scheduled(cron = "0 * * * * *")  // 매 분마다 실행
-    @Transactional
-    public void matchMakeOldMatching() {
-        List<Matching> matchingList = matchingRepository.findOldMatchingList(LocalDateTime.now());
-
-        for (Matching matching : matchingList) {
-            // 매칭 조건 Dto 생성
-            MatchingConditionDto matchingConditionDto = MatchingConditionDto.of(
-                    matching.getSport().getName(),
-                    matching.getLatitude(),
-                    matching.getLongitude(),
-                    matching.getMatchStartTimes().stream().map(MatchStartTime::getStartTime).toList(),
-                    matching.getPreferCourt(),
-                    matching.getIsClubMatching()
-            );
-
-            long minutesElapsed = ChronoUnit.MINUTES.between(matching.getMatchingStartTime(), LocalDateTime.now());
-            int matchingRange = (int) (minutesElapsed / 1);
-            matchingRange = Math.min(matchingRange, 10);    // 최대 범위 21km x 21km
-
-            log.info("[로그] 재매칭 시작, 매칭 id: {}, 매칭 시작 시간: {}", matching.getId(), matching.getMatchingStartTime());
-            matchMakingService.findMatching(
-                    matchingConditionDto,
-                    matching.getGroup().getId(),
-                    matching.getRating(),
-                    matchingRange
-            );
-        }
-    }
 }
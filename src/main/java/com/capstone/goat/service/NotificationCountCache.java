@@ -0,0 +1,38 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.repository.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.function.LongSupplier;
+
+/**
+ * 유저별 알림 수를 캐시하여 알림 뱃지 조회마다 알림 테이블을 세지 않도록 함
+ * <p>
+ * 최대 크기와 TTL이 있으며, 유저에게 알림이 추가되거나 삭제되면 invalidate로 제거해야 한다.
+ */
+@Component
+public class NotificationCountCache {
+
+    @Value("${notification-count-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${notification-count-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private TtlCache<Long, Long> cache;
+
+    @PostConstruct
+    protected void init() {
+        cache = new TtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public long get(Long userId, LongSupplier loader) {
+        return cache.get(userId, loader::getAsLong);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
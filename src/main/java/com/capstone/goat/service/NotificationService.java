@@ -4,22 +4,24 @@ import com.capstone.goat.domain.Notification;
 import com.capstone.goat.domain.NotificationType;
 import com.capstone.goat.domain.User;
 import com.capstone.goat.dto.response.NotificationResponseDto;
+import com.capstone.goat.dto.response.SliceResponseDto;
 import com.capstone.goat.exception.ex.CustomErrorCode;
 import com.capstone.goat.exception.ex.CustomException;
-import com.capstone.goat.repository.EmitterRepository;
 import com.capstone.goat.repository.NotificationRepository;
 import com.capstone.goat.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -27,6 +29,8 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final GroupInviteIndex groupInviteIndex;
+    private final NotificationCountCache notificationCountCache;
 
     @Transactional
     public long sendNotification(Long senderId, String receiverNickname, NotificationType type) {
@@ -54,11 +58,37 @@ public class NotificationService {
                 .content(message)
                 .build();
 
+        if (NotificationType.GROUP_INVITE == type) {
+            groupInviteIndex.register(sender.getId(), receiver.getId());
+        } else {
+            notificationCountCache.invalidate(receiver.getId());
+        }
+
         notify(sender != null ? sender.getNickname() : null, receiver.getId(), notification);
 
         return notificationRepository.save(notification).getId();
         }
 
+    // 매칭 완료 알림을 한 트랜잭션에서 저장하고 receiverIds와 같은 순서로 전송할 Dto를 반환
+    @Transactional
+    public List<NotificationResponseDto> saveMatchingNotifications(List<Long> receiverIds) {
+
+        List<Notification> notificationList = receiverIds.stream()
+                .map(receiverId ->
+                        Notification.builder()
+                                .receiver(userRepository.getReferenceById(receiverId))
+                                .type(NotificationType.MATCHING)
+                                .content(NotificationType.MATCHING.getMessage())
+                                .build()
+                )
+                .toList();
+        receiverIds.forEach(notificationCountCache::invalidate);
+
+        return notificationRepository.saveAll(notificationList).stream()
+                .map(notification -> NotificationResponseDto.of(notification, null))
+                .toList();
+    }
+
     @Transactional
     public void deleteNotification(long userId, long notificationId) {
 
@@ -68,27 +98,56 @@ public class NotificationService {
                 throw new CustomException(CustomErrorCode.NO_AUTHORITY);
             }
             notificationRepository.deleteById(notificationId);
+            notificationCountCache.invalidate(userId);
         });
     }
 
+    /**
+     * 유저의 알림을 최신순으로 cursor 이후부터 size개 조회, 유효 시간이 지난 그룹 초대 알림은 제외
+     *
+     * @param userId - 사용자 아이디.
+     * @param cursor - 이전 페이지의 nextCursor, 첫 페이지면 null.
+     * @param size   - 페이지 크기.
+     */
+    public SliceResponseDto<NotificationResponseDto> getNotificationList(long userId, Long cursor, int size) {
+
+        // 보낸 유저 닉네임을 같은 쿼리에서 조회, 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        LocalDateTime inviteCutoff = LocalDateTime.now().minusSeconds(GroupInviteIndex.INVITE_TIMEOUT_SECONDS);
+        List<NotificationRepository.InboxView> inboxList = notificationRepository.findInboxByReceiverId(
+                userId, cursor, NotificationType.GROUP_INVITE, inviteCutoff, PageRequest.of(0, size + 1));
+
+        return SliceResponseDto.of(inboxList, size, NotificationRepository.InboxView::getId, this::toNotificationDto);
+    }
+
+    // 알림 수 조회, 그룹 초대를 제외한 알림 수는 캐시하고 유효한 그룹 초대는 GroupInviteIndex로 확인
+    public long getNotificationCount(long userId) {
+
+        long count = notificationCountCache.get(userId,
+                () -> notificationRepository.countByReceiverIdAndTypeNot(userId, NotificationType.GROUP_INVITE));
+
+        return groupInviteIndex.isBeingInvited(userId) ? count + 1 : count;
+    }
+
+    // 유효 시간이 지난 그룹 초대 알림을 한 번에 삭제, 조회에서는 이미 제외되므로 주기는 길게 유지
     @Transactional
-    public List<NotificationResponseDto> getNotificationList(long userId) {
-
-        List<Notification> notificationList = notificationRepository.findAllByReceiverIdOrderByIdDesc(userId);
-
-        return notificationList.stream()
-                .filter(notification -> {   // 그룹 초대 알림의 경우 발송된지 30초가 지났으면 삭제 후 리스트에 추가하지 않음
-                    long seconds = Duration.between(notification.getSendTime(), LocalDateTime.now()).getSeconds();
-                    if (seconds > 30) {
-                        notificationRepository.delete(notification);
-                    }
-                    return NotificationType.GROUP_INVITE != notification.getType() || seconds <= 30;
-                }).map(notification -> {
-                    String senderNickname = Optional.ofNullable(notification.getSender())
-                            .map(User::getNickname)
-                            .orElse(null);
-                    return NotificationResponseDto.of(notification, senderNickname);
-                }).toList();
+    @Scheduled(fixedDelay = 60L * 1000)
+    public void deleteExpiredInvites() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(GroupInviteIndex.INVITE_TIMEOUT_SECONDS);
+        int count = notificationRepository.deleteAllByTypeAndSendTimeBefore(NotificationType.GROUP_INVITE, cutoff);
+        if (count > 0) {
+            log.info("[로그] 만료된 그룹 초대 알림 삭제 수 = {}", count);
+        }
+    }
+
+    private NotificationResponseDto toNotificationDto(NotificationRepository.InboxView inbox) {
+        return NotificationResponseDto.builder()
+                .id(inbox.getId())
+                .type(inbox.getType())
+                .content(inbox.getContent())
+                .sendTime(inbox.getSendTime())
+                .senderNickname(inbox.getSenderNickname())
+                .build();
     }
 
     private User getUser(long userId) {
@@ -105,28 +164,21 @@ public class NotificationService {
     /*-------------------------------------------------------------------------------------------------*/
     // SSE Notification 서비스
 
-    // 기본 타임아웃 설정 => 5분
-    private static final Long DEFAULT_TIMEOUT = 60L * 1000 * 5;
-
-    private final EmitterRepository emitterRepository;
+    private final SseConnectionHub sseConnectionHub;
 
     /**
      * 클라이언트가 구독을 위해 호출하는 메서드.
      *
      * @param userId - 구독하는 클라이언트의 사용자 아이디.
+     * @param lastEventId - 재연결 시 클라이언트가 마지막으로 받은 이벤트 id, 이후의 이벤트를 다시 전송.
      * @return SseEmitter - 서버에서 보낸 이벤트 Emitter
      */
-    public SseEmitter connect(Long userId) {
-        SseEmitter emitter = createEmitter(userId);
-
-        sendToClient(userId, "[SSE] EventStream Created. [userId=" + userId + "]");
-        return emitter;
+    public SseEmitter connect(Long userId, Long lastEventId) {
+        return sseConnectionHub.connect(userId, lastEventId, "[SSE] EventStream Created. [userId=" + userId + "]");
     }
 
     public void disconnect(Long userId) {
-        SseEmitter emitter = emitterRepository.get(userId);
-        emitter.complete();
-        emitterRepository.deleteById(userId);
+        sseConnectionHub.disconnect(userId);
     }
 
     /**
@@ -144,43 +196,22 @@ public class NotificationService {
     }
 
     /**
-     * 클라이언트에게 데이터를 전송
+     * 이미 저장된 알림을 클라이언트에게 전송
      *
-     * @param receiverId   - 데이터를 받을 사용자의 아이디.
-     * @param data - 전송할 데이터.
+     * @param receiverId - 메세지를 받을 사용자의 아이디.
+     * @param event - 전송할 알림 Dto.
      */
-    private void sendToClient(Long receiverId, Object data) {
-        SseEmitter emitter = emitterRepository.get(receiverId);
-        if (emitter != null) {
-            try {
-                emitter.send(
-                        SseEmitter.event()
-                                .id(String.valueOf(receiverId))
-                                .name("[SSE] connect")
-                                .data(data)
-                );
-            } catch (IOException exception) {
-                emitterRepository.deleteById(receiverId);
-                emitter.completeWithError(exception);
-            }
-        }
+    public void notify(Long receiverId, NotificationResponseDto event) {
+        sendToClient(receiverId, event);
     }
 
     /**
-     * 사용자 아이디를 기반으로 이벤트 Emitter를 생성
+     * 클라이언트에게 데이터를 전송
      *
-     * @param id - 사용자 아이디.
-     * @return SseEmitter - 생성된 이벤트 Emitter.
+     * @param receiverId   - 데이터를 받을 사용자의 아이디.
+     * @param data - 전송할 데이터.
      */
-    private SseEmitter createEmitter(Long id) {
-        SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
-        emitterRepository.save(id, emitter);
-
-        // Emitter가 완료될 때(모든 데이터가 성공적으로 전송된 상태) Emitter를 삭제한다.
-        emitter.onCompletion(() -> emitterRepository.deleteById(id));
-        // Emitter가 타임아웃 되었을 때(지정된 시간동안 어떠한 이벤트도 전송되지 않았을 때) Emitter를 삭제한다.
-        emitter.onTimeout(() -> emitterRepository.deleteById(id));
-
-        return emitter;
+    private void sendToClient(Long receiverId, Object data) {
+        sseConnectionHub.send(receiverId, "[SSE] connect", data);
     }
 }
@@ -0,0 +1,217 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.repository.EmitterRepository;
+import com.capstone.goat.repository.SseConnection;
+import com.capstone.goat.repository.SseEventHistory;
+import com.capstone.goat.repository.SseEventHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 연결을 관리하고 이벤트 전송을 호출한 스레드에서 분리하는 허브
+ * <p>
+ * 이벤트는 연결별 버퍼에 넣기만 하고 실제 전송은 sseWriterExecutor에서 수행하므로, 응답이 멈춘 클라이언트가 있어도
+ * 알림을 보내는 요청 처리 스레드는 막히지 않는다. 하트비트는 매 주기마다 샤드 하나씩 돌아가며 보낸다.
+ * 보낸 이벤트는 사용자별 링 버퍼에 남겨 두었다가 재연결 시 Last-Event-ID 이후의 이벤트를 다시 보낸다.
+ * 한 이벤트의 전송이 SEND_TIME_LIMIT을 넘으면 연결을 오류로 종료하여 멈춘 소켓이 전송 스레드를 계속 붙잡지 않도록 한다.
+ */
+@Slf4j
+@Component
+public class SseConnectionHub {
+
+    // 기본 타임아웃 설정 => 30분, 하트비트로 끊긴 연결을 감지하므로 길게 유지
+    private static final Long DEFAULT_TIMEOUT = 60L * 1000 * 30;
+    // 연결별 최대 전송 대기 이벤트 수, 재연결 시 이벤트 기록(50개)과 연결 이벤트를 버리지 않고 모두 담을 수 있도록 64개
+    private static final int BUFFER_CAPACITY = 64;
+    private static final long SEND_TIME_LIMIT = 10L * 1000;   // 이벤트 하나의 최대 전송 시간, WebSocket의 send time limit과 같음
+    private static final long HEARTBEAT_INTERVAL = 30L * 1000;
+    private static final long HISTORY_IDLE_TIMEOUT = 10L * 60 * 1000;  // 연결이 끊긴 후 이벤트 기록을 보관하는 시간
+
+    private final EmitterRepository emitterRepository;
+    private final SseEventHistoryRepository sseEventHistoryRepository;
+    private final Executor sseWriterExecutor;
+    private final Counter droppedCounter;
+    private final Counter stalledCounter;
+
+    private final AtomicInteger heartbeatShard = new AtomicInteger();
+
+    public SseConnectionHub(EmitterRepository emitterRepository, SseEventHistoryRepository sseEventHistoryRepository, Executor sseWriterExecutor, MeterRegistry meterRegistry) {
+        this.emitterRepository = emitterRepository;
+        this.sseEventHistoryRepository = sseEventHistoryRepository;
+        this.sseWriterExecutor = sseWriterExecutor;
+        this.droppedCounter = meterRegistry.counter("sse.events.dropped");
+        this.stalledCounter = meterRegistry.counter("sse.connections.stalled");
+
+        Gauge.builder("sse.connections", emitterRepository, EmitterRepository::count)
+                .register(meterRegistry);
+        Gauge.builder("sse.queue.depth", this, SseConnectionHub::getQueueDepth)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 아이디를 기반으로 이벤트 Emitter를 생성하고 연결을 등록
+     *
+     * @param userId      - 사용자 아이디.
+     * @param lastEventId - 클라이언트가 마지막으로 받은 이벤트 id, 처음 연결이면 null.
+     * @param greeting    - 연결 직후 보낼 데이터, 이벤트 기록에는 남기지 않음.
+     * @return SseEmitter - 생성된 이벤트 Emitter.
+     */
+    public SseEmitter connect(Long userId, Long lastEventId, Object greeting) {
+        SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
+        SseConnection connection = new SseConnection(userId, emitter, BUFFER_CAPACITY);
+        SseEventHistory history = sseEventHistoryRepository.getOrCreate(userId);
+
+        // 연결 등록과 재전송 사이에 보내는 이벤트가 끼어들지 않도록 이벤트 기록을 잠금
+        synchronized (history) {
+            history.touch();
+
+            // 같은 사용자의 이전 연결은 종료
+            SseConnection previous = emitterRepository.save(userId, connection);
+            if (previous != null) {
+                previous.getEmitter().complete();
+            }
+
+            connection.offer(SseEmitter.event().name("[SSE] connect").data(greeting));
+            if (lastEventId != null) {
+                history.findAfter(lastEventId).forEach(event -> connection.offer(event.toBuilder()));
+            }
+        }
+
+        // Emitter가 완료되거나 타임아웃 되었을 때 현재 연결일 경우에만 삭제한다.
+        emitter.onCompletion(() -> emitterRepository.deleteById(userId, connection));
+        emitter.onTimeout(() -> emitterRepository.deleteById(userId, connection));
+        emitter.onError(exception -> emitterRepository.deleteById(userId, connection));
+
+        scheduleDrain(connection);
+        return emitter;
+    }
+
+    public void disconnect(Long userId) {
+        SseConnection connection = emitterRepository.deleteById(userId);
+        if (connection != null) {
+            connection.getEmitter().complete();
+        }
+    }
+
+    /**
+     * 이벤트에 사용자별 id를 붙여 기록하고, 연결된 클라이언트의 버퍼에 추가하여 전송을 예약
+     * 한 번도 연결하지 않았거나 기록이 만료된 사용자에게 보내는 이벤트는 무시
+     *
+     * @param receiverId - 데이터를 받을 사용자의 아이디.
+     * @param name       - 이벤트 이름.
+     * @param data       - 전송할 데이터.
+     */
+    public void send(Long receiverId, String name, Object data) {
+        SseEventHistory history = sseEventHistoryRepository.get(receiverId);
+        if (history == null) return;
+
+        SseConnection connection;
+        boolean dropped = false;
+        synchronized (history) {
+            SseEventHistory.SseEvent event = history.append(name, data);
+            connection = emitterRepository.get(receiverId);
+            if (connection != null) {
+                dropped = connection.offer(event.toBuilder());
+            }
+        }
+        if (connection == null) return;
+
+        if (dropped) {
+            droppedCounter.increment();
+            log.warn("[로그] SSE 버퍼 초과로 오래된 이벤트 삭제, userId = {}", receiverId);
+        }
+        scheduleDrain(connection);
+    }
+
+    // 매 주기마다 샤드 하나의 연결에 하트비트 전송, 샤드 전체를 도는 데 HEARTBEAT_INTERVAL 소요
+    @Scheduled(fixedRate = HEARTBEAT_INTERVAL / EmitterRepository.SHARD_COUNT)
+    public void sendHeartbeat() {
+        int shard = Math.floorMod(heartbeatShard.getAndIncrement(), EmitterRepository.SHARD_COUNT);
+        emitterRepository.forEachInShard(shard, connection -> {
+            if (closeIfStalled(connection)) return;
+
+            SseEventHistory history = sseEventHistoryRepository.get(connection.getUserId());
+            if (history != null) {
+                history.touch();
+            }
+            if (connection.offerHeartbeat(SseEmitter.event().comment("heartbeat"))) {
+                scheduleDrain(connection);
+            }
+        });
+    }
+
+    // 연결이 끊긴 지 오래된 사용자의 이벤트 기록 삭제
+    @Scheduled(fixedRate = 60L * 1000)
+    public void evictIdleHistories() {
+        long cutoff = System.currentTimeMillis() - HISTORY_IDLE_TIMEOUT;
+        sseEventHistoryRepository.deleteIdle(cutoff, userId -> emitterRepository.get(userId) != null);
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (!connection.tryStartDrain()) {
+            // 이미 전송 중이면 해당 작업이 버퍼를 비움, 전송이 제한 시간을 넘었으면 연결 종료
+            closeIfStalled(connection);
+            return;
+        }
+
+        try {
+            sseWriterExecutor.execute(() -> drain(connection));
+        } catch (TaskRejectedException exception) {
+            connection.finishDrain();
+            log.warn("[로그] SSE 전송 작업 거부, userId = {}", connection.getUserId());
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = connection.poll()) != null) {
+                connection.startSend();
+                connection.getEmitter().send(event);
+                connection.finishSend();
+            }
+        } catch (IOException | IllegalStateException exception) {
+            emitterRepository.deleteById(connection.getUserId(), connection);
+            connection.getEmitter().completeWithError(exception);
+            return;
+        } finally {
+            connection.finishSend();
+            connection.finishDrain();
+        }
+
+        // 마지막 poll 이후 추가된 이벤트가 있으면 다시 예약
+        if (connection.size() > 0) {
+            scheduleDrain(connection);
+        }
+    }
+
+    // 전송이 SEND_TIME_LIMIT을 넘은 연결을 오류로 종료, 컨테이너가 응답을 닫으면 멈춘 전송도 예외로 끝나 전송 스레드가 풀려남
+    private boolean closeIfStalled(SseConnection connection) {
+        if (!connection.expireSend(SEND_TIME_LIMIT)) return false;
+
+        stalledCounter.increment();
+        log.warn("[로그] SSE 전송 시간 초과로 연결 종료, userId = {}", connection.getUserId());
+        emitterRepository.deleteById(connection.getUserId(), connection);
+        connection.getEmitter().completeWithError(new TimeoutException("SSE send time limit exceeded"));
+        return true;
+    }
+
+    private double getQueueDepth() {
+        int[] depth = new int[1];
+        for (int shard = 0; shard < EmitterRepository.SHARD_COUNT; shard++) {
+            emitterRepository.forEachInShard(shard, connection -> depth[0] += connection.size());
+        }
+        return depth[0];
+    }
+}
@@ -0,0 +1,164 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.MatchMaking;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 대기 순서로 정렬된 매칭 후보에서 인원 수의 합이 각각 스포츠 한 팀 인원과 같은 서로소인 두 팀을 구성
+ * <p>
+ * 가장 오래 기다린 그룹부터 첫 번째 팀에 고정하고, 두 팀의 rating 합(그룹 rating x 인원 수) 차이가 가장 작은 조합을 찾는다.
+ * 두 팀의 인원이 같으므로 rating 합의 차이를 줄이는 것은 평균 rating 차이를 줄이는 것과 같다.
+ * 탐색에 쓰는 배열은 스레드별로 재사용하므로 탐색 중에는 객체를 생성하지 않는다.
+ */
+@Component
+public class TeamAssembler {
+
+    private static final int MAX_CANDIDATES = 64;       // 탐색할 최대 후보 수, 대기 순서상 앞의 후보만 사용
+    private static final int MAX_SEARCH_NODES = 20000;  // 한 번의 탐색에서 방문할 최대 노드 수
+
+    private static final byte NONE = 0;
+    private static final byte TEAM1 = 1;
+    private static final byte TEAM2 = 2;
+
+    private final ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(Workspace::new);
+
+    public record Teams(List<MatchMaking> team1, List<MatchMaking> team2) {
+    }
+
+    /**
+     * @param candidateList - 대기 순서로 정렬된 매칭 후보, 변경하지 않음.
+     * @param player        - 스포츠 한 팀의 인원 수.
+     * @return 두 팀을 구성할 수 없으면 빈 Optional
+     */
+    public Optional<Teams> assemble(List<MatchMaking> candidateList, int player) {
+
+        Workspace ws = workspace.get();
+        int n = Math.min(candidateList.size(), MAX_CANDIDATES);
+        ws.prepare(n, player);
+
+        for (int i = 0; i < n; i++) {
+            MatchMaking matchMaking = candidateList.get(i);
+            ws.sizes[i] = matchMaking.getUserCount();
+            ws.ratings[i] = matchMaking.getRating();
+        }
+
+        if (!assemble(ws, n, player)) {
+            return Optional.empty();
+        }
+
+        List<MatchMaking> team1 = new ArrayList<>();
+        List<MatchMaking> team2 = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (ws.best[i] == TEAM1) team1.add(candidateList.get(i));
+            else if (ws.best[i] == TEAM2) team2.add(candidateList.get(i));
+        }
+        return Optional.of(new Teams(team1, team2));
+    }
+
+    // ws.sizes, ws.ratings의 앞 n개로 두 팀을 구성하여 ws.best에 기록, 구성할 수 없으면 false
+    private boolean assemble(Workspace ws, int n, int player) {
+
+        buildReachTable(ws, n, player);
+
+        // 가장 오래 기다린 그룹부터 첫 번째 팀에 고정해 보고, 불가능하면 다음 그룹으로 넘어감
+        for (int anchor = 0; anchor < n; anchor++) {
+            int size = ws.sizes[anchor];
+            if (size > player || !ws.isReachable(anchor + 1, player - size, player)) continue;
+
+            for (int i = 0; i < n; i++) ws.assign[i] = NONE;
+            ws.assign[anchor] = TEAM1;
+            ws.bestDiff = Long.MAX_VALUE;
+            ws.nodes = 0;
+
+            search(ws, anchor + 1, n, player - size, player, (long) ws.ratings[anchor] * size);
+            return ws.bestDiff != Long.MAX_VALUE;
+        }
+        return false;
+    }
+
+    // reach[i][a][b]: i번째 이후 후보만으로 첫 번째 팀에 a명, 두 번째 팀에 b명을 채울 수 있는지
+    private void buildReachTable(Workspace ws, int n, int player) {
+
+        int stride = player + 1;
+        int layer = stride * stride;
+        for (int k = n * layer; k < (n + 1) * layer; k++) ws.reach[k] = false;
+        ws.reach[n * layer] = true;
+        ws.suffixWeight[n] = 0;
+
+        for (int i = n - 1; i >= 0; i--) {
+            int size = ws.sizes[i];
+            int cur = i * layer;
+            int next = cur + layer;
+            for (int a = 0; a <= player; a++) {
+                for (int b = 0; b <= player; b++) {
+                    ws.reach[cur + a * stride + b] = ws.reach[next + a * stride + b]
+                            || (size <= a && ws.reach[next + (a - size) * stride + b])
+                            || (size <= b && ws.reach[next + a * stride + b - size]);
+                }
+            }
+            ws.suffixWeight[i] = ws.suffixWeight[i + 1] + (long) ws.ratings[i] * size;
+        }
+    }
+
+    // 대기 순서대로 각 후보를 첫 번째 팀, 두 번째 팀, 미포함 순으로 시도하는 분기 한정 탐색
+    private void search(Workspace ws, int i, int n, int remain1, int remain2, long diff) {
+
+        if (remain1 == 0 && remain2 == 0) {
+            long absDiff = Math.abs(diff);
+            if (absDiff < ws.bestDiff) {
+                ws.bestDiff = absDiff;
+                System.arraycopy(ws.assign, 0, ws.best, 0, n);
+            }
+            return;
+        }
+        if (i == n || ws.bestDiff == 0 || ++ws.nodes > MAX_SEARCH_NODES) return;
+        if (!ws.isReachable(i, remain1, remain2)) return;
+        // 남은 후보를 모두 써도 현재 최선보다 차이를 줄일 수 없으면 중단
+        if (Math.abs(diff) - ws.suffixWeight[i] >= ws.bestDiff) return;
+
+        int size = ws.sizes[i];
+        long weight = (long) ws.ratings[i] * size;
+
+        if (size <= remain1) {
+            ws.assign[i] = TEAM1;
+            search(ws, i + 1, n, remain1 - size, remain2, diff + weight);
+        }
+        if (size <= remain2) {
+            ws.assign[i] = TEAM2;
+            search(ws, i + 1, n, remain1, remain2 - size, diff - weight);
+        }
+        ws.assign[i] = NONE;
+        search(ws, i + 1, n, remain1, remain2, diff);
+    }
+
+    // 스레드별로 재사용하는 탐색용 배열
+    private static class Workspace {
+
+        private final int[] sizes = new int[MAX_CANDIDATES];
+        private final int[] ratings = new int[MAX_CANDIDATES];
+        private final byte[] assign = new byte[MAX_CANDIDATES];
+        private final byte[] best = new byte[MAX_CANDIDATES];
+        private final long[] suffixWeight = new long[MAX_CANDIDATES + 1];
+        private boolean[] reach = new boolean[0];
+        private int stride;
+
+        private long bestDiff;
+        private int nodes;
+
+        private void prepare(int n, int player) {
+            stride = player + 1;
+            int required = (n + 1) * stride * stride;
+            if (reach.length < required) {
+                reach = new boolean[(MAX_CANDIDATES + 1) * stride * stride];
+            }
+        }
+
+        private boolean isReachable(int i, int remain1, int remain2) {
+            return reach[(i * stride + remain1) * stride + remain2];
+        }
+    }
+}
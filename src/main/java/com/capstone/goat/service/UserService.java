@@ -1,6 +1,7 @@
 package com.capstone.goat.service;
 
 import com.capstone.goat.config.ClientKakao;
+import com.capstone.goat.config.PrincipalCache;
 import com.capstone.goat.config.TokenProvider;
 import com.capstone.goat.domain.Group;
 import com.capstone.goat.domain.Sport;
@@ -30,6 +31,7 @@ public class UserService {
     private final TokenProvider tokenProvider;
     private final ClientKakao clientKakao;
     private final RatingService ratingService;
+    private final PrincipalCache principalCache;
 
 
     @Transactional
@@ -79,13 +81,14 @@ public class UserService {
     }
 
     public UserResponseDto getUser(User user){
-        if(user.getGender()==null){
+        // 인증 정보는 캐시된 값일 수 있으므로 DB에서 조회한 유저로 확인
+        User user1 = userRepository.findById(user.getId()).orElseThrow(()->new CustomException(CustomErrorCode.USER_NOT_FOUND));
+        if(user1.getGender()==null){
             throw new CustomException(CustomErrorCode.NEED_JOIN);
         }
-        User user1 = userRepository.findById(user.getId()).orElseThrow(()->new CustomException(CustomErrorCode.USER_NOT_FOUND));
         String club  ="없음";
         long clubId = -1L;
-        if(user.getClub()!=null){
+        if(user1.getClub()!=null){
             club = user1.getClub().getName();
             clubId = user1.getClub().getId();
         }
@@ -110,6 +113,7 @@ public class UserService {
         ratingService.initRating(id, Sport.SOCCER,userSaveDto.getSoccer_tier()*200);
         ratingService.initRating(id, Sport.BASKETBALL,userSaveDto.getBasketball_tier()*200);
         ratingService.initRating(id, Sport.TABLE_TENNIS,userSaveDto.getTableTennis_tier()*200);
+        principalCache.invalidate(id);
         return user.getId();
     }
 
@@ -123,12 +127,14 @@ public class UserService {
                 ,userUpdateDto.getAge()
                 ,userUpdateDto.getGender()
                 ,userUpdateDto.getPrefer_sport());
+        principalCache.invalidate(id);
         return user.getId();
     }
 
     @Transactional
     public void delete(User user){
         userRepository.delete(user);
+        principalCache.invalidate(user.getId());
     }
     @Transactional
     public void outClub(Long id){
@@ -140,6 +146,7 @@ public class UserService {
             throw new CustomException(CustomErrorCode.MASTER_NOT_OUT);
         }
         user.kickClub();
+        principalCache.invalidate(id);
     }
 
     @Transactional
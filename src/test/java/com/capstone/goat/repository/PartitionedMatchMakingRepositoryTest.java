@@ -0,0 +1,158 @@
+package com.capstone.goat.repository;
+
+import com.capstone.goat.domain.MatchMaking;
+import com.capstone.goat.domain.Sport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionedMatchMakingRepositoryTest {
+
+    private PartitionedMatchMakingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new PartitionedMatchMakingRepository();
+    }
+
+    @Test
+    @DisplayName("모든 그룹을 선점하면 대기열에서 제거하고 그룹의 매칭을 반환")
+    void claimAll() {
+        save(1L, "1500", "1600");
+        save(2L, "1500");
+
+        List<MatchMaking> claimed = repository.claimByGroupIds(List.of(1L, 2L));
+
+        assertThat(claimed).extracting(MatchMaking::getGroupId).containsExactlyInAnyOrder(1L, 1L, 2L);
+        assertThat(repository.findByGroupId(1L)).isEmpty();
+        assertThat(repository.findByGroupId(2L)).isEmpty();
+        assertThat(repository.findAllByMatchingAndMatchingRange(matchMaking(3L, "1500"), 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("하나라도 선점할 수 없으면 먼저 선점한 그룹을 되돌림")
+    void claimRollback() {
+        save(1L, "1500");
+        save(2L, "1500");
+        save(3L, "1500");
+        assertThat(repository.claimByGroupIds(List.of(2L))).hasSize(1);
+
+        // 3번은 선점된 뒤 2번에서 실패하므로 되돌려져야 함
+        assertThat(repository.claimByGroupIds(List.of(3L, 2L))).isEmpty();
+        // 대기열에 없는 그룹이 섞여 있어도 마찬가지
+        assertThat(repository.claimByGroupIds(List.of(1L, 3L, 99L))).isEmpty();
+
+        assertThat(repository.findByGroupId(1L)).hasSize(1);
+        assertThat(repository.findByGroupId(3L)).hasSize(1);
+        assertThat(repository.findAllByMatchingAndMatchingRange(matchMaking(4L, "1500"), 1))
+                .extracting(MatchMaking::getGroupId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(repository.claimByGroupIds(List.of(1L, 3L))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("선점된 그룹은 삭제하지 않고 false 반환")
+    void deleteClaimedGroup() {
+        save(1L, "1500");
+        save(2L, "1500");
+
+        assertThat(repository.deleteByGroupId(1L)).isTrue();
+        assertThat(repository.deleteByGroupId(1L)).isFalse();
+
+        assertThat(repository.claimByGroupIds(List.of(2L))).hasSize(1);
+        assertThat(repository.deleteByGroupId(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("동시에 겹치는 그룹을 선점해도 각 그룹은 한 번만 선점됨")
+    void concurrentClaim() throws Exception {
+        int groupCount = 200;
+        for (long groupId = 0; groupId < groupCount; groupId++) {
+            save(groupId, "1500");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> claimedGroupIds = ConcurrentHashMap.newKeySet();
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                boolean duplicated = false;
+                for (long groupId = offset % 2; groupId + 1 < groupCount; groupId += 2) {
+                    for (MatchMaking matchMaking : repository.claimByGroupIds(List.of(groupId, groupId + 1))) {
+                        duplicated |= !claimedGroupIds.add(matchMaking.getGroupId());
+                    }
+                }
+                return duplicated;
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).isFalse();
+        }
+        executor.shutdown();
+
+        // 선점되지 않은 그룹은 모두 대기열에 남아 있어야 함
+        for (long groupId = 0; groupId < groupCount; groupId++) {
+            assertThat(repository.findByGroupId(groupId).isEmpty()).isEqualTo(claimedGroupIds.contains(groupId));
+        }
+    }
+
+    @Test
+    @DisplayName("허용 rating 차이가 넓어져 새로 포함된 매칭만 확인")
+    void ratingRing() {
+        repository.save(matchMaking(1L, "1500", 700));
+        MatchMaking matchMaking = matchMaking(2L, "1500", 500);
+        repository.save(matchMaking);
+
+        // rating 차이 200은 [100, 200)에 포함되지 않고 [200, 300)에 포함됨
+        assertThat(repository.existsByMatchingAndRatingRing(matchMaking, 0, 100, 200)).isFalse();
+        assertThat(repository.existsByMatchingAndRatingRing(matchMaking, 0, 200, 300)).isTrue();
+        // 이미 이전 범위에 포함되어 평가된 매칭은 제외
+        assertThat(repository.existsByMatchingAndRatingRing(matchMaking, 0, 300, 400)).isFalse();
+
+        assertThat(repository.claimByGroupIds(List.of(1L))).hasSize(1);
+        assertThat(repository.existsByMatchingAndRatingRing(matchMaking, 0, 200, 300)).isFalse();
+    }
+
+    private void save(long groupId, String... matchStartTimes) {
+        List<MatchMaking> matchMakingList = new ArrayList<>();
+        for (String matchStartTime : matchStartTimes) {
+            matchMakingList.add(matchMaking(groupId, matchStartTime));
+        }
+        repository.saveAll(matchMakingList);
+    }
+
+    private MatchMaking matchMaking(long groupId, String matchStartTime) {
+        return matchMaking(groupId, matchStartTime, 500);
+    }
+
+    private MatchMaking matchMaking(long groupId, String matchStartTime, int rating) {
+        return MatchMaking.builder()
+                .sport(Sport.BADMINTON)
+                .userCount(1)
+                .rating(rating)
+                .latitude(37.5)
+                .longitude(127.0)
+                .preferCourt("court")
+                .isClubMatching(false)
+                .matchingStartTime(LocalDateTime.now())
+                .matchStartTime(matchStartTime)
+                .groupId(groupId)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.capstone.goat.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatIdGeneratorTest {
+
+    @Test
+    @DisplayName("여러 스레드에서 생성해도 id가 겹치지 않고 스레드마다 증가")
+    void uniqueAndOrderedAcrossThreads() throws Exception {
+        ChatIdGenerator generator = generator(3);
+        int threadCount = 8;
+        int idsPerThread = 20000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threadCount; thread++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long previous = -1;
+                boolean ordered = true;
+                for (int i = 0; i < idsPerThread; i++) {
+                    long id = generator.nextId();
+                    ordered &= id > previous;
+                    previous = id;
+                    ids.add(id);
+                }
+                return ordered;
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get(30, TimeUnit.SECONDS)).isTrue();
+        }
+        executor.shutdown();
+
+        assertThat(ids).hasSize(threadCount * idsPerThread);
+    }
+
+    @Test
+    @DisplayName("나중에 생성한 id가 항상 더 크고 노드 id가 포함됨")
+    void increasingWithNodeId() {
+        ChatIdGenerator generator = generator(5);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat((id >> 12) & 1023).isEqualTo(5);
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("노드 id가 범위를 벗어나면 시작 실패")
+    void invalidNodeId() {
+        ChatIdGenerator generator = new ChatIdGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", 1024L);
+
+        assertThatThrownBy(generator::init).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ChatIdGenerator generator(long nodeId) {
+        ChatIdGenerator generator = new ChatIdGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", nodeId);
+        generator.init();
+        return generator;
+    }
+}
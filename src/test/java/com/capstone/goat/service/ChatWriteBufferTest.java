@@ -0,0 +1,121 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.Chat;
+import com.capstone.goat.repository.ChatJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ChatWriteBufferTest {
+
+    private ChatJdbcRepository chatJdbcRepository;
+    private ChatWriteBuffer chatWriteBuffer;
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        chatJdbcRepository = mock(ChatJdbcRepository.class);
+        doAnswer(invocation -> {
+            List<Chat> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(Chat::getId).toList());
+            return null;
+        }).when(chatJdbcRepository).saveAll(anyList());
+
+        chatWriteBuffer = new ChatWriteBuffer(chatJdbcRepository);
+        chatWriteBuffer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        chatWriteBuffer.stop();
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 채팅까지 순서대로 batch 크기 이하로 나누어 저장")
+    void flushAllInOrderOnStop() throws InterruptedException {
+        for (long id = 1; id <= 1000; id++) {
+            chatWriteBuffer.append(chat(id, 1L));
+        }
+        chatWriteBuffer.stop();
+
+        List<Long> saved = new ArrayList<>();
+        batches.forEach(saved::addAll);
+        assertThat(saved).hasSize(1000).isSorted();
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(200));
+        assertThat(chatWriteBuffer.findPendingByGameId(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장이 끝나기 전의 채팅은 저장 전 조회로 확인 가능")
+    void pendingUntilSaved() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(chatJdbcRepository).saveAll(anyList());
+
+        chatWriteBuffer.append(chat(1L, 1L));
+        chatWriteBuffer.append(chat(2L, 2L));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(chatWriteBuffer.findPendingByGameId(1L)).extracting(Chat::getId).containsExactly(1L);
+
+        release.countDown();
+        chatWriteBuffer.stop();
+        assertThat(chatWriteBuffer.findPendingByGameId(1L)).isEmpty();
+        assertThat(chatWriteBuffer.findPendingByGameId(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장에 계속 실패한 batch는 버리지 않고 보관했다가 다시 저장")
+    void requeueFailedBatch() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch failedAll = new CountDownLatch(3);
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 3) {
+                failedAll.countDown();
+                throw new IllegalStateException("db unavailable");
+            }
+            List<Chat> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(Chat::getId).toList());
+            return null;
+        }).when(chatJdbcRepository).saveAll(anyList());
+
+        chatWriteBuffer.append(chat(1L, 1L));
+        assertThat(failedAll.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        // 한 번의 저장 시도가 모두 실패해도 저장 전 조회에 남아 있음
+        assertThat(chatWriteBuffer.findPendingByGameId(1L)).extracting(Chat::getId).containsExactly(1L);
+
+        chatWriteBuffer.stop();
+        assertThat(batches).containsExactly(List.of(1L));
+        assertThat(chatWriteBuffer.findPendingByGameId(1L)).isEmpty();
+    }
+
+    private Chat chat(long id, long gameId) {
+        return Chat.builder()
+                .id(id)
+                .comment("chat " + id)
+                .time(LocalDateTime.now())
+                .gameId(gameId)
+                .userNickname("user")
+                .build();
+    }
+}
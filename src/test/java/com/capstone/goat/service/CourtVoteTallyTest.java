@@ -0,0 +1,128 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.config.WebSocketConfig;
+import com.capstone.goat.domain.Game;
+import com.capstone.goat.domain.Sport;
+import com.capstone.goat.repository.GameRepository;
+import com.capstone.goat.repository.UserRepository;
+import com.capstone.goat.repository.VotedCourtRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CourtVoteTallyTest {
+
+    private static final Long GAME_ID = 1L;
+
+    private GameService gameService;
+    private CourtVoteTally courtVoteTally;
+
+    @BeforeEach
+    void setUp() {
+        gameService = mock(GameService.class);
+        GameRepository gameRepository = mock(GameRepository.class);
+        VotedCourtRepository votedCourtRepository = mock(VotedCourtRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+
+        // 배드민턴은 한 팀 2명이므로 참가자 4명
+        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(Game.builder().sport(Sport.BADMINTON).build()));
+        List<UserRepository.VoterView> voters = List.of(voter("u1"), voter("u2"), voter("u3"), voter("u4"));
+        when(userRepository.findVotersByGameId(GAME_ID)).thenReturn(voters);
+
+        courtVoteTally = new CourtVoteTally(gameService, gameRepository, votedCourtRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("투표 종료는 진행 중인 반영이 끝난 뒤에 경기장을 확정")
+    void closeWaitsForInFlightFlush() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(gameService).applyVotes(eq(GAME_ID), anyMap(), anyList());
+
+        courtVoteTally.vote(GAME_ID, "A", "u1");
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(courtVoteTally::flushAll);
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> close = CompletableFuture.runAsync(() -> courtVoteTally.close(GAME_ID));
+        Thread.sleep(200);
+        verify(gameService, never()).determineCourt(any(Long.class));
+
+        release.countDown();
+        flush.get(5, TimeUnit.SECONDS);
+        close.get(5, TimeUnit.SECONDS);
+
+        InOrder inOrder = inOrder(gameService);
+        inOrder.verify(gameService).applyVotes(GAME_ID, Map.of("A", 1), List.of("u1"));
+        inOrder.verify(gameService).determineCourt(GAME_ID);
+        verify(gameService, times(1)).applyVotes(any(), anyMap(), anyList());
+    }
+
+    @Test
+    @DisplayName("투표 종료 후에 들어온 투표는 새 집계에 기록되어 반영됨")
+    void voteAfterCloseIsFlushed() {
+        courtVoteTally.vote(GAME_ID, "A", "u1");
+        courtVoteTally.close(GAME_ID);
+
+        assertThat(courtVoteTally.vote(GAME_ID, "B", "u2")).isPresent();
+        courtVoteTally.flushAll();
+
+        verify(gameService).applyVotes(GAME_ID, Map.of("A", 1), List.of("u1"));
+        verify(gameService).applyVotes(GAME_ID, Map.of("B", 1), List.of("u2"));
+    }
+
+    @Test
+    @DisplayName("모든 참가자가 투표하면 남은 투표를 반영하고 경기장을 확정")
+    void closeWhenEveryoneVoted() {
+        courtVoteTally.vote(GAME_ID, "A", "u1");
+        courtVoteTally.vote(GAME_ID, "A", "u2");
+        courtVoteTally.vote(GAME_ID, "B", "u3");
+        assertThat(courtVoteTally.vote(GAME_ID, "B", "u3")).isEmpty();
+        courtVoteTally.vote(GAME_ID, "A", "u4");
+
+        InOrder inOrder = inOrder(gameService);
+        inOrder.verify(gameService).applyVotes(eq(GAME_ID), eq(Map.of("A", 3, "B", 1)), anyList());
+        inOrder.verify(gameService).determineCourt(GAME_ID);
+    }
+
+    @Test
+    @DisplayName("relay 모드에서는 메모리 집계 없이 투표마다 DB에 반영")
+    void relayModeBypassesTally() {
+        ReflectionTestUtils.setField(courtVoteTally, "brokerMode", WebSocketConfig.BROKER_MODE_RELAY);
+        when(gameService.voteCourt(GAME_ID, "A", "u1")).thenReturn(Optional.empty());
+
+        assertThat(courtVoteTally.vote(GAME_ID, "A", "u1")).isEmpty();
+        courtVoteTally.getVoteMessage(GAME_ID);
+        courtVoteTally.flushAll();
+
+        verify(gameService).voteCourt(GAME_ID, "A", "u1");
+        verify(gameService).getVoteTotal(GAME_ID);
+        verify(gameService, never()).applyVotes(any(), anyMap(), anyList());
+    }
+
+    private UserRepository.VoterView voter(String nickname) {
+        UserRepository.VoterView voter = mock(UserRepository.VoterView.class);
+        when(voter.getNickname()).thenReturn(nickname);
+        when(voter.getIsVoted()).thenReturn(false);
+        return voter;
+    }
+}
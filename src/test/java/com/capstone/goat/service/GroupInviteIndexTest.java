@@ -0,0 +1,123 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GroupInviteIndexTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(GroupInviteIndex.INVITE_TIMEOUT_SECONDS);
+
+    private MutableClock clock;
+    private GroupInviteIndex groupInviteIndex;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(1_700_000_000_000L);
+        groupInviteIndex = new GroupInviteIndex(mock(NotificationRepository.class));
+        groupInviteIndex.setClock(clock);
+        groupInviteIndex.init();
+    }
+
+    @Test
+    @DisplayName("유효 시간이 지나면 초대 받는 중이 아니고, 다음 tick에서 초대한 유저도 제거")
+    void expireOnTick() {
+        groupInviteIndex.register(1L, 2L);
+        assertThat(groupInviteIndex.isBeingInvited(2L)).isTrue();
+        assertThat(groupInviteIndex.isInviting(1L)).isTrue();
+
+        clock.advance(TIMEOUT_MILLIS - 1000);
+        groupInviteIndex.tick();
+        assertThat(groupInviteIndex.isBeingInvited(2L)).isTrue();
+        assertThat(groupInviteIndex.isInviting(1L)).isTrue();
+
+        clock.advance(2000);
+        assertThat(groupInviteIndex.isBeingInvited(2L)).isFalse();
+        groupInviteIndex.tick();
+        assertThat(groupInviteIndex.isInviting(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("tick이 늦어져도 그 사이 만료된 초대를 모두 제거")
+    void expireAfterDelayedTick() {
+        groupInviteIndex.register(1L, 2L);
+        clock.advance(10_000);
+        groupInviteIndex.register(3L, 4L);
+
+        // tick 없이 두 초대의 만료 시각을 모두 지남
+        clock.advance(TIMEOUT_MILLIS + 5_000);
+        groupInviteIndex.tick();
+
+        assertThat(groupInviteIndex.isInviting(1L)).isFalse();
+        assertThat(groupInviteIndex.isInviting(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("휠 한 바퀴보다 오래 tick이 멈춰도 만료된 초대를 제거하고 남은 초대는 유지")
+    void expireAfterTickStalledLongerThanWheel() {
+        groupInviteIndex.register(1L, 2L);
+        clock.advance(TimeUnit.SECONDS.toMillis(100));
+        groupInviteIndex.register(3L, 4L);
+        groupInviteIndex.tick();
+
+        assertThat(groupInviteIndex.isInviting(1L)).isFalse();
+        assertThat(groupInviteIndex.isInviting(3L)).isTrue();
+        assertThat(groupInviteIndex.isBeingInvited(4L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("수락하거나 거절한 초대는 바로 제거되고 같은 유저의 다른 초대는 유지")
+    void removeAnswered() {
+        groupInviteIndex.register(1L, 2L);
+        groupInviteIndex.register(1L, 3L);
+
+        groupInviteIndex.remove(1L, 2L);
+        assertThat(groupInviteIndex.isBeingInvited(2L)).isFalse();
+        assertThat(groupInviteIndex.isInviting(1L)).isTrue();
+
+        groupInviteIndex.remove(1L, 3L);
+        assertThat(groupInviteIndex.isInviting(1L)).isFalse();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.Sport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchMakingTolerancePolicyTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 12, 0, 30);
+
+    private MatchMakingTolerancePolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        // 기본 스케줄: rating 100에서 10분마다 100씩 1500까지, 검색 범위 1분마다 1칸씩 10칸까지
+        policy = new MatchMakingTolerancePolicy();
+        policy.init();
+    }
+
+    @Test
+    @DisplayName("검색 범위가 넓어지는 동안은 1분마다 평가")
+    void nextEvaluationWhileRangeExpands() {
+        assertThat(policy.getNextEvaluationTime(Sport.BADMINTON, START, START)).isEqualTo(START.plusMinutes(1));
+        assertThat(policy.getNextEvaluationTime(Sport.BADMINTON, START, START.plusMinutes(9).plusSeconds(59))).isEqualTo(START.plusMinutes(10));
+    }
+
+    @Test
+    @DisplayName("검색 범위가 최대가 된 뒤에도 rating 차이가 넓어질 때마다 평가")
+    void nextEvaluationAfterRangeMax() {
+        assertThat(policy.getNextEvaluationTime(Sport.BADMINTON, START, START.plusMinutes(10))).isEqualTo(START.plusMinutes(20));
+        assertThat(policy.getNextEvaluationTime(Sport.BADMINTON, START, START.plusMinutes(135))).isEqualTo(START.plusMinutes(140));
+        assertThat(policy.getTolerance(Sport.BADMINTON, START, START.plusMinutes(140)).ratingMaxDiff()).isEqualTo(1500);
+    }
+
+    @Test
+    @DisplayName("둘 다 최대값이면 더 평가하지 않음")
+    void noEvaluationAfterBothMax() {
+        assertThat(policy.getNextEvaluationTime(Sport.BADMINTON, START, START.plusMinutes(140))).isNull();
+        assertThat(policy.getNextEvaluationTime(Sport.BADMINTON, START, START.plusDays(1))).isNull();
+    }
+}
@@ -0,0 +1,61 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.dto.response.NotificationResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MatchingNotificationDispatcherTest {
+
+    private static final long BAD_RECEIVER_ID = 2L;
+
+    private NotificationService notificationService;
+    private MatchingNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        dispatcher = new MatchingNotificationDispatcher(notificationService);
+
+        // BAD_RECEIVER_ID가 포함된 저장은 항상 실패
+        when(notificationService.saveMatchingNotifications(anyList())).thenAnswer(invocation -> {
+            List<Long> receiverIds = invocation.getArgument(0);
+            if (receiverIds.contains(BAD_RECEIVER_ID)) throw new IllegalStateException("receiver not found");
+            return receiverIds.stream().map(receiverId -> NotificationResponseDto.builder().build()).collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    @DisplayName("한 수신자의 저장 실패가 같은 배치의 다른 수신자 알림을 막지 않음")
+    void badReceiverDoesNotSinkBatch() {
+        dispatcher.onMatched(new MatchingNotificationEvent(List.of(1L, BAD_RECEIVER_ID, 3L)));
+
+        dispatcher.flush();
+
+        verify(notificationService).notify(eq(1L), any(NotificationResponseDto.class));
+        verify(notificationService).notify(eq(3L), any(NotificationResponseDto.class));
+        verify(notificationService, never()).notify(eq(BAD_RECEIVER_ID), any(NotificationResponseDto.class));
+    }
+
+    @Test
+    @DisplayName("계속 실패하는 수신자는 정해진 횟수만 다시 시도")
+    void boundedRetry() {
+        dispatcher.onMatched(new MatchingNotificationEvent(List.of(BAD_RECEIVER_ID)));
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.flush();
+        }
+
+        // 1명짜리 배치는 일괄 저장 1번과 수신자별 저장 1번을 시도
+        verify(notificationService, times(6)).saveMatchingNotifications(List.of(BAD_RECEIVER_ID));
+        verify(notificationService, never()).notify(anyLong(), any(NotificationResponseDto.class));
+    }
+}
@@ -0,0 +1,144 @@
+package com.capstone.goat.service;
+
+import com.capstone.goat.domain.MatchMaking;
+import com.capstone.goat.domain.Sport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamAssemblerTest {
+
+    private final TeamAssembler teamAssembler = new TeamAssembler();
+
+    @Test
+    @DisplayName("작은 입력에서 rating 합 차이가 완전 탐색의 최소값과 같음")
+    void matchesBruteForce() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            int player = 1 + random.nextInt(5);
+            int n = 1 + random.nextInt(8);
+            List<MatchMaking> candidateList = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                candidateList.add(matchMaking(i, 1 + random.nextInt(3), random.nextInt(1001)));
+            }
+
+            Optional<TeamAssembler.Teams> teams = teamAssembler.assemble(candidateList, player);
+            Long expected = bruteForce(candidateList, player);
+
+            if (expected == null) {
+                assertThat(teams).as("round %d", round).isEmpty();
+                continue;
+            }
+            assertThat(teams).as("round %d", round).isPresent();
+            assertValidTeams(candidateList, teams.get(), player);
+            assertThat(diffOf(teams.get())).as("round %d", round).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("가장 오래 기다린 그룹을 포함할 수 있으면 항상 포함")
+    void includesOldestGroup() {
+        List<MatchMaking> candidateList = List.of(
+                matchMaking(0, 2, 100),
+                matchMaking(1, 1, 900),
+                matchMaking(2, 1, 900),
+                matchMaking(3, 2, 100),
+                matchMaking(4, 2, 900));
+
+        TeamAssembler.Teams teams = teamAssembler.assemble(candidateList, 2).orElseThrow();
+
+        assertThat(teams.team1()).extracting(MatchMaking::getGroupId).contains(0L);
+        assertThat(diffOf(teams)).isZero();
+    }
+
+    @Test
+    @DisplayName("두 팀을 채울 수 없으면 빈 Optional")
+    void notEnoughPlayers() {
+        List<MatchMaking> candidateList = List.of(matchMaking(0, 3, 500), matchMaking(1, 2, 500));
+
+        assertThat(teamAssembler.assemble(candidateList, 3)).isEmpty();
+    }
+
+    /**
+     * TeamAssembler와 같은 규칙(첫 번째 팀에 넣을 수 있는 가장 오래 기다린 그룹을 고정하고 그 앞의 그룹은 제외)으로
+     * 모든 배정을 시도하여 최소 rating 합 차이를 구함
+     *
+     * @return 두 팀을 구성할 수 없으면 null
+     */
+    private Long bruteForce(List<MatchMaking> candidateList, int player) {
+        int n = candidateList.size();
+        for (int anchor = 0; anchor < n; anchor++) {
+            Long best = null;
+            int total = (int) Math.pow(3, n - anchor - 1);
+            for (int code = 0; code < total; code++) {
+                int size1 = candidateList.get(anchor).getUserCount();
+                int size2 = 0;
+                long diff = weightOf(candidateList.get(anchor));
+                int rest = code;
+                for (int i = anchor + 1; i < n; i++) {
+                    int team = rest % 3;
+                    rest /= 3;
+                    MatchMaking matchMaking = candidateList.get(i);
+                    if (team == 1) {
+                        size1 += matchMaking.getUserCount();
+                        diff += weightOf(matchMaking);
+                    } else if (team == 2) {
+                        size2 += matchMaking.getUserCount();
+                        diff -= weightOf(matchMaking);
+                    }
+                }
+                if (size1 == player && size2 == player && (best == null || Math.abs(diff) < best)) {
+                    best = Math.abs(diff);
+                }
+            }
+            if (best != null) return best;
+        }
+        return null;
+    }
+
+    private void assertValidTeams(List<MatchMaking> candidateList, TeamAssembler.Teams teams, int player) {
+        assertThat(teams.team1().stream().mapToInt(MatchMaking::getUserCount).sum()).isEqualTo(player);
+        assertThat(teams.team2().stream().mapToInt(MatchMaking::getUserCount).sum()).isEqualTo(player);
+
+        Set<MatchMaking> used = new HashSet<>(teams.team1());
+        for (MatchMaking matchMaking : teams.team2()) {
+            assertThat(used.add(matchMaking)).isTrue();
+        }
+        assertThat(candidateList).containsAll(used);
+    }
+
+    private long diffOf(TeamAssembler.Teams teams) {
+        long diff = 0;
+        for (MatchMaking matchMaking : teams.team1()) diff += weightOf(matchMaking);
+        for (MatchMaking matchMaking : teams.team2()) diff -= weightOf(matchMaking);
+        return Math.abs(diff);
+    }
+
+    private long weightOf(MatchMaking matchMaking) {
+        return (long) matchMaking.getRating() * matchMaking.getUserCount();
+    }
+
+    private MatchMaking matchMaking(long groupId, int userCount, int rating) {
+        return MatchMaking.builder()
+                .sport(Sport.BASKETBALL)
+                .userCount(userCount)
+                .rating(rating)
+                .latitude(37.5)
+                .longitude(127.0)
+                .preferCourt("court")
+                .isClubMatching(false)
+                .matchingStartTime(LocalDateTime.now().plusSeconds(groupId))
+                .matchStartTime("1500")
+                .groupId(groupId)
+                .build();
+    }
+}